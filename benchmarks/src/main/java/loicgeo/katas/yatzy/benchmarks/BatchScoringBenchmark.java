@@ -0,0 +1,53 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score of {@value Rolls#NB_ROLLS} random rolls per operation with {@link YatzyCategory#scoreAll}, in a JVM scoring
+ * one roll at a time and in a JVM scoring with the Vector API. The vectorized fork needs a Java 17+ JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class BatchScoringBenchmark {
+
+    private static final YatzyCategory[] ALL_CATEGORIES = YatzyCategory.values();
+
+    @Param({"single", "all"})
+    public String categories;
+
+    private YatzyCategory[] scoredCategories;
+    private byte[] values;
+    private int[] scores;
+
+    @Setup
+    public void setUp() {
+        scoredCategories = "single".equals(categories) ? new YatzyCategory[]{YatzyCategory.FULL_HOUSE} : ALL_CATEGORIES;
+        int[] rollValues = Rolls.values();
+        values = new byte[rollValues.length];
+        for (int i = 0; i < rollValues.length; i++) {
+            values[i] = (byte) rollValues[i];
+        }
+        scores = new int[Rolls.NB_ROLLS * scoredCategories.length];
+    }
+
+    @Benchmark
+    @Fork(1)
+    public int[] scalarScoreAll() throws FonctionalException {
+        YatzyCategory.scoreAll(values, scoredCategories, scores);
+        return scores;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Dloicgeo.katas.yatzy.vectorScoring=true"})
+    public int[] vectorizedScoreAll() throws FonctionalException {
+        YatzyCategory.scoreAll(values, scoredCategories, scores);
+        return scores;
+    }
+}
@@ -0,0 +1,46 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Run the benchmarks with the GC profiler, so that allocation rates are reported, and write the results as JSON.
+ * <p>
+ * Usage: {@code java [-Dbenchmarks.result=<file>] -jar target/benchmarks.jar [JMH options]}, the result file being
+ * {@value #DEFAULT_RESULT_FILE} by default. Any JMH command line option (a benchmark regexp, -f, -wi, ...) is accepted,
+ * -l and -h listing the benchmarks and the options without running them.
+ */
+public final class BenchmarkRunner {
+
+    private static final String RESULT_FILE_PROPERTY = "benchmarks.result";
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        Runner runner = new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty(RESULT_FILE_PROPERTY, DEFAULT_RESULT_FILE))
+                .build());
+        if (commandLineOptions.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
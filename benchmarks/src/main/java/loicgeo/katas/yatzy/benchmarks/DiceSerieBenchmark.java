@@ -0,0 +1,41 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of {@value Rolls#NB_ROLLS} random dice series per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DiceSerieBenchmark {
+
+    private int[] values;
+
+    @Setup
+    public void setUp() {
+        values = Rolls.values();
+    }
+
+    @Benchmark
+    public void newDiceSerie(Blackhole blackhole) throws FonctionalException {
+        for (int offset = 0; offset < values.length; offset += DiceSerie.NB_DICE) {
+            blackhole.consume(new DiceSerie(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]));
+        }
+    }
+
+    @Benchmark
+    public void sharedDiceSerie(Blackhole blackhole) throws FonctionalException {
+        for (int offset = 0; offset < values.length; offset += DiceSerie.NB_DICE) {
+            blackhole.consume(DiceSerie.of(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]));
+        }
+    }
+}
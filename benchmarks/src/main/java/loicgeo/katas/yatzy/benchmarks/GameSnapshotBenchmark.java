@@ -0,0 +1,73 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import loicgeo.katas.yatzy.game.GameSnapshot;
+import loicgeo.katas.yatzy.game.GameSnapshots;
+import loicgeo.katas.yatzy.game.MultiplayerGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restore of a file of snapshots of games of 4 players, half played: mapping the file and checking its snapshots
+ * only, then restoring every game as well. Thousands of games are expected to be restored in milliseconds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSnapshotBenchmark {
+
+    private static final String[] PLAYERS = {"Alice", "Bob", "Carol", "Dave"};
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+
+    @Param({"10000"})
+    public int nbGames;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws FonctionalException, IOException {
+        DiceSerie[] diceSeries = Rolls.diceSeries();
+        List<MultiplayerGame> games = new ArrayList<>(nbGames);
+        for (int id = 0; id < nbGames; id++) {
+            MultiplayerGame game = new MultiplayerGame(id, PLAYERS);
+            for (int turn = 0; turn < CATEGORIES.length / 2 * PLAYERS.length; turn++) {
+                game.roll(diceSeries[(id + turn) % diceSeries.length]);
+                game.score(CATEGORIES[turn / PLAYERS.length]);
+            }
+            games.add(game);
+        }
+        file = Files.createTempFile("games", ".snapshot");
+        GameSnapshots.save(games, file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public List<GameSnapshot> load() throws IOException {
+        return GameSnapshots.load(file);
+    }
+
+    @Benchmark
+    public List<MultiplayerGame> loadAndRestore() throws IOException {
+        List<GameSnapshot> snapshots = GameSnapshots.load(file);
+        List<MultiplayerGame> games = new ArrayList<>(snapshots.size());
+        for (GameSnapshot snapshot : snapshots) {
+            games.add(snapshot.restore());
+        }
+        return games;
+    }
+}
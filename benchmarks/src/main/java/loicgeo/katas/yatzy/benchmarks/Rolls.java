@@ -0,0 +1,45 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.util.Random;
+
+/**
+ * Rolls of five fair dice, drawn with a fixed seed so that every run of the benchmarks scores the same rolls.
+ */
+final class Rolls {
+
+    static final int NB_ROLLS = 1024;
+
+    private static final long SEED = 20190901L;
+
+    private Rolls() {
+    }
+
+    /**
+     * @return NB_ROLLS * NB_DICE dice values, roll after roll.
+     */
+    static int[] values() {
+        Random random = new Random(SEED);
+        int[] values = new int[NB_ROLLS * DiceSerie.NB_DICE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = DiceSerie.MIN_DICE_VALUE + random.nextInt(DiceSerie.MAX_DICE_VALUE - DiceSerie.MIN_DICE_VALUE + 1);
+        }
+        return values;
+    }
+
+    static DiceSerie[] diceSeries() {
+        int[] values = values();
+        DiceSerie[] diceSeries = new DiceSerie[NB_ROLLS];
+        try {
+            for (int roll = 0; roll < NB_ROLLS; roll++) {
+                int offset = roll * DiceSerie.NB_DICE;
+                diceSeries[roll] = new DiceSerie(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]);
+            }
+        } catch (FonctionalException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return diceSeries;
+    }
+}
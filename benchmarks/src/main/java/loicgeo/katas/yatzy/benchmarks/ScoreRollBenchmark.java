@@ -0,0 +1,57 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.Yatzy;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score of every category over {@value Rolls#NB_ROLLS} random rolls per operation, through the shared Yatzy of each
+ * roll and directly from the score table. Any extra work of {@link Yatzy#scoreRoll(YatzyCategory)}, such as a cache of
+ * the scores, has to beat the table lookup of {@link YatzyCategory#score(DiceSerie)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreRollBenchmark {
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+
+    private DiceSerie[] diceSeries;
+    private Yatzy[] yatzies;
+
+    @Setup
+    public void setUp() throws FonctionalException {
+        diceSeries = Rolls.diceSeries();
+        yatzies = new Yatzy[diceSeries.length];
+        for (int roll = 0; roll < diceSeries.length; roll++) {
+            DiceSerie diceSerie = diceSeries[roll];
+            yatzies[roll] = Yatzy.of(diceSerie.getValue(0), diceSerie.getValue(1), diceSerie.getValue(2),
+                    diceSerie.getValue(3), diceSerie.getValue(4));
+        }
+    }
+
+    @Benchmark
+    public int scoreRoll() {
+        int total = 0;
+        for (int roll = 0; roll < yatzies.length; roll++) {
+            total += yatzies[roll].scoreRoll(CATEGORIES[roll % CATEGORIES.length]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int categoryScore() {
+        int total = 0;
+        for (int roll = 0; roll < diceSeries.length; roll++) {
+            total += CATEGORIES[roll % CATEGORIES.length].score(diceSeries[roll]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,74 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.Yatzy;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
+
+/**
+ * Construction of a Yatzy, for a valid roll and for an invalid roll.
+ * <p>
+ * The invalid roll goes through the logging of the failure: records are formatted as usual, but written nowhere,
+ * so that the measure includes the logging cost without flooding the benchmark output.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class YatzyBenchmark {
+
+    private static final OutputStream DISCARDING_STREAM = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    public int d1 = 3;
+    public int d2 = 3;
+    public int d3 = 4;
+    public int d4 = 5;
+    public int d5 = 1;
+    public int invalidValue = 0;
+
+    @Setup
+    public void setUp() {
+        LogManager.getLogManager().reset();
+        Logger rootLogger = Logger.getLogger("");
+        for (Handler handler : rootLogger.getHandlers()) {
+            rootLogger.removeHandler(handler);
+        }
+        rootLogger.addHandler(new StreamHandler(DISCARDING_STREAM, new SimpleFormatter()));
+    }
+
+    @Benchmark
+    public Yatzy newYatzy() throws FonctionalException {
+        return new Yatzy(d1, d2, d3, d4, d5);
+    }
+
+    @Benchmark
+    public Yatzy sharedYatzy() throws FonctionalException {
+        return Yatzy.of(d1, d2, d3, d4, d5);
+    }
+
+    @Benchmark
+    public Object newYatzyWithInvalidRoll() {
+        try {
+            return new Yatzy(d1, d2, invalidValue, d4, d5);
+        } catch (FonctionalException exception) {
+            return exception;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score of each category, over {@value Rolls#NB_ROLLS} random rolls per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class YatzyCategoryBenchmark {
+
+    @Param({"CHANCE", "YATZY", "ONES", "TWOS", "THREES", "FOURS", "FIVES", "SIXES", "PAIR", "TWO_PAIRS",
+            "THREE_Of_A_KIND", "FOUR_Of_A_KIND", "SMALL_STRAIGHT", "LARGE_STRAIGHT", "FULL_HOUSE"})
+    public YatzyCategory category;
+
+    private DiceSerie[] diceSeries;
+    private byte[] values;
+    private int[] scores;
+
+    @Setup
+    public void setUp() {
+        diceSeries = Rolls.diceSeries();
+        int[] rollValues = Rolls.values();
+        values = new byte[rollValues.length];
+        for (int i = 0; i < rollValues.length; i++) {
+            values[i] = (byte) rollValues[i];
+        }
+        scores = new int[Rolls.NB_ROLLS];
+    }
+
+    @Benchmark
+    public int score() {
+        int total = 0;
+        for (DiceSerie diceSerie : diceSeries) {
+            total += category.score(diceSerie);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int[] scoreAll() throws FonctionalException {
+        category.scoreAll(values, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public int referenceScore() {
+        int total = 0;
+        for (DiceSerie diceSerie : diceSeries) {
+            total += category.referenceScore(diceSerie);
+        }
+        return total;
+    }
+}
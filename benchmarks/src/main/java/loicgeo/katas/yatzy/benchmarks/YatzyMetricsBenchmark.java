@@ -0,0 +1,50 @@
+package loicgeo.katas.yatzy.benchmarks;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.YatzyMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score of every category over {@value Rolls#NB_ROLLS} random rolls per operation, in a JVM with the metrics
+ * disabled and in a JVM with the metrics enabled. With the metrics disabled, the score is expected to be as fast as
+ * {@link YatzyCategoryBenchmark#score()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class YatzyMetricsBenchmark {
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+
+    private DiceSerie[] diceSeries;
+
+    @Setup
+    public void setUp() {
+        diceSeries = Rolls.diceSeries();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + YatzyMetrics.PROPERTY + "=false")
+    public int scoreWithMetricsDisabled() {
+        return scoreAllCategories();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + YatzyMetrics.PROPERTY + "=true")
+    public int scoreWithMetricsEnabled() {
+        return scoreAllCategories();
+    }
+
+    private int scoreAllCategories() {
+        int total = 0;
+        for (int roll = 0; roll < diceSeries.length; roll++) {
+            total += CATEGORIES[roll % CATEGORIES.length].score(diceSeries[roll]);
+        }
+        return total;
+    }
+}
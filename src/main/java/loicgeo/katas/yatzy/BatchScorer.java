@@ -0,0 +1,30 @@
+package loicgeo.katas.yatzy;
+
+/**
+ * Scoring of consecutive rolls, used by {@link YatzyCategory#scoreAll}.
+ * <p>
+ * This is the scalar implementation, scoring one roll at a time from the {@link ScoreTable}. On Java 17 or later, the
+ * multi-release jar replaces it with an implementation that can score several rolls per instruction with the Vector
+ * API, when asked for and when the module {@code jdk.incubator.vector} is added to the JVM.
+ */
+final class BatchScorer {
+
+    private BatchScorer() {
+    }
+
+    /**
+     * @return true if the rolls are scored with the Vector API.
+     */
+    static boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Score consecutive rolls for some categories. Values are supposed to be valid.
+     *
+     * @see ScoreTable#scoreAll(byte[], YatzyCategory[], int[])
+     */
+    static void scoreAll(byte[] values, YatzyCategory[] categories, int[] scores) {
+        ScoreTable.scoreAll(values, categories, scores);
+    }
+}
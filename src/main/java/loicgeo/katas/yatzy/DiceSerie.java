@@ -2,23 +2,57 @@ package loicgeo.katas.yatzy;
 
 import loicgeo.katas.yatzy.exception.FonctionalException;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
-import java.util.function.Predicate;
+import java.util.List;
+import java.util.Optional;
 
 import static java.text.MessageFormat.format;
-import static java.util.Arrays.asList;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.*;
+import static java.util.Collections.unmodifiableList;
 
-public class DiceSerie {
+/**
+ * A roll of 5 dice.
+ * <p>
+ * A dice serie is immutable: all its fields are final, except the lazily built view of {@link #getValues()}, which is
+ * an unmodifiable list of final fields, so it can be shared between threads without synchronization, even when
+ * published through a data race.
+ */
+public final class DiceSerie {
 
-    private static final int MIN_DICE_VALUE = 1;
-    private static final int MAX_DICE_VALUE = 6;
+    public static final int MIN_DICE_VALUE = 1;
+    public static final int MAX_DICE_VALUE = 6;
+    public static final int NB_DICE = 5;
 
-    private static final Predicate<? super Integer> NOT_ALLOWED_VALUE = value -> value < MIN_DICE_VALUE || value > MAX_DICE_VALUE;
+    /**
+     * Bit mask of all the dice, bit i standing for dice #i+1.
+     */
+    public static final int ALL_DICE = (1 << NB_DICE) - 1;
+
+    // each dice value, and each number of occurrences of a value, is encoded on 3 bits
+    private static final int BITS_PER_ENTRY = 3;
+    private static final int ENTRY_MASK = (1 << BITS_PER_ENTRY) - 1;
 
-    private Collection<Integer> values;
+    // values of the dice, dice #1 on the lowest bits
+    private final int packedValues;
+    // number of occurrences of each value, value 1 on the lowest bits
+    private final int packedCounts;
+    // one bit per value present in the serie, value 1 on the lowest bit
+    private final int presentValues;
+    private final int orderedRoll;
+    private final int rollIndex;
+
+    // canonical instances of every ordered roll
+    private static final DiceSerie[] ORDERED_ROLLS = new DiceSerie[RollIndex.NB_ORDERED_ROLLS];
+
+    static {
+        for (int orderedRoll = 0; orderedRoll < RollIndex.NB_ORDERED_ROLLS; orderedRoll++) {
+            int[] rollValues = RollIndex.valuesOfOrderedRoll(orderedRoll);
+            ORDERED_ROLLS[orderedRoll] = new DiceSerie(orderedRoll, rollValues[0], rollValues[1], rollValues[2], rollValues[3], rollValues[4]);
+        }
+    }
+
+    // built on first call of getValues, racing threads may each build an equal list
+    private List<Integer> values;
 
     /**
      * Initialize a dice serie of 5 int values.
@@ -31,18 +65,217 @@ public class DiceSerie {
      * @throws FonctionalException in case of not allowed values.
      */
     public DiceSerie(int value1, int value2, int value3, int value4, int value5) throws FonctionalException {
-        values = asList(value1, value2, value3, value4, value5);
-        validateValues();
+        this(validateValues(value1, value2, value3, value4, value5), value1, value2, value3, value4, value5);
+    }
+
+    private DiceSerie(int orderedRoll, int value1, int value2, int value3, int value4, int value5) {
+        packedValues = value1
+                | value2 << BITS_PER_ENTRY
+                | value3 << 2 * BITS_PER_ENTRY
+                | value4 << 3 * BITS_PER_ENTRY
+                | value5 << 4 * BITS_PER_ENTRY;
+        packedCounts = countOf(value1) + countOf(value2) + countOf(value3) + countOf(value4) + countOf(value5);
+        presentValues = presenceOf(value1) | presenceOf(value2) | presenceOf(value3) | presenceOf(value4) | presenceOf(value5);
+        this.orderedRoll = orderedRoll;
+        rollIndex = RollIndex.distinctIndex(orderedRoll);
+    }
+
+    private static int presenceOf(int value) {
+        return 1 << value - MIN_DICE_VALUE;
+    }
+
+    /**
+     * Get the dice serie of 5 int values. Unlike the constructor, no instance is created: the dice series of all
+     * the possible rolls are preallocated, and shared.
+     *
+     * @param value1 value dice 1
+     * @param value2 value dice 2
+     * @param value3 value dice 3
+     * @param value4 value dice 4
+     * @param value5 value dice 5
+     * @return the canonical dice serie of these values.
+     * @throws FonctionalException in case of not allowed values.
+     */
+    public static DiceSerie of(int value1, int value2, int value3, int value4, int value5) throws FonctionalException {
+        return ORDERED_ROLLS[validateValues(value1, value2, value3, value4, value5)];
+    }
+
+    /**
+     * Get the dice serie of 5 int values, without exception for not allowed values.
+     *
+     * @return the canonical dice serie of these values, or an empty optional in case of not allowed values.
+     * @see #of(int, int, int, int, int)
+     */
+    public static Optional<DiceSerie> tryOf(int value1, int value2, int value3, int value4, int value5) {
+        if (!isValid(value1, value2, value3, value4, value5)) {
+            return Optional.empty();
+        }
+        return Optional.of(ORDERED_ROLLS[RollIndex.orderedIndex(value1, value2, value3, value4, value5)]);
+    }
+
+    /**
+     * @return true if all the values are allowed dice values, between MIN_DICE_VALUE and MAX_DICE_VALUE included.
+     */
+    public static boolean isValid(int value1, int value2, int value3, int value4, int value5) {
+        return isAllowedValue(value1) && isAllowedValue(value2) && isAllowedValue(value3)
+                && isAllowedValue(value4) && isAllowedValue(value5);
+    }
+
+    /**
+     * @param packedValues values of the dice on 3 bits per dice, dice #1 on the lowest bits, see {@link #getPackedValues()}
+     * @return the canonical dice serie of these values.
+     * @throws FonctionalException in case of not allowed values.
+     */
+    public static DiceSerie ofPackedValues(int packedValues) throws FonctionalException {
+        return of(packedValues & ENTRY_MASK,
+                packedValues >>> BITS_PER_ENTRY & ENTRY_MASK,
+                packedValues >>> 2 * BITS_PER_ENTRY & ENTRY_MASK,
+                packedValues >>> 3 * BITS_PER_ENTRY & ENTRY_MASK,
+                packedValues >>> 4 * BITS_PER_ENTRY);
+    }
+
+    /**
+     * @param rollIndex index of a distinct roll, see {@link #getRollIndex()}
+     * @return the canonical dice serie of this distinct roll, its values being sorted.
+     * @throws FonctionalException in case of a roll index out of range.
+     */
+    public static DiceSerie ofRollIndex(int rollIndex) throws FonctionalException {
+        if (rollIndex < 0 || rollIndex >= RollIndex.NB_DISTINCT_ROLLS) {
+            throw new FonctionalException(format("Wrong roll index: {0} is not between 0 and {1} included.",
+                    rollIndex, RollIndex.NB_DISTINCT_ROLLS - 1));
+        }
+        return ORDERED_ROLLS[RollIndex.orderedIndexOfDistinctRoll(rollIndex)];
+    }
+
+    /**
+     * @param orderedRoll index of an ordered roll, from 0 to 7775, the value of dice #1 minus 1 being its least
+     *                    significant digit in base 6: 0 for 1,1,1,1,1 and 7775 for 6,6,6,6,6
+     * @return the canonical dice serie of this roll.
+     * @throws IllegalArgumentException in case of an index out of range.
+     */
+    public static DiceSerie ofOrderedRoll(int orderedRoll) {
+        if (orderedRoll < 0 || orderedRoll >= RollIndex.NB_ORDERED_ROLLS) {
+            throw new IllegalArgumentException(format("Wrong ordered roll: {0} is not between 0 and {1} included.",
+                    orderedRoll, RollIndex.NB_ORDERED_ROLLS - 1));
+        }
+        return ORDERED_ROLLS[orderedRoll];
+    }
+
+    /**
+     * Change the value of a dice, keeping the other ones.
+     *
+     * @param dice  index of the dice, from 0 for dice #1 to NB_DICE - 1 for dice #5
+     * @param value the new value of the dice
+     * @return the canonical dice serie of the values after the change, found in constant time.
+     * @throws FonctionalException      in case of not allowed value.
+     * @throws IllegalArgumentException in case of a dice index out of range.
+     */
+    public DiceSerie withValue(int dice, int value) throws FonctionalException {
+        if (dice < 0 || dice >= NB_DICE) {
+            throw new IllegalArgumentException(format("Wrong dice {0}: a dice index must be between 0 and {1} included.",
+                    dice, NB_DICE - 1));
+        }
+        if (!isAllowedValue(value)) {
+            throw wrongRerolledValue(value);
+        }
+        return ORDERED_ROLLS[orderedRoll + (value - getValue(dice)) * RollIndex.placeValue(dice)];
+    }
+
+    /**
+     * Re-roll the dice not held, as in a turn of play.
+     * <p>
+     * Nothing is computed again: the dice series of all the possible rolls being preallocated with their counts of
+     * values, present values and roll index, only the index of the ordered roll is updated, one digit per re-rolled
+     * dice, to find the canonical dice serie of the new values.
+     *
+     * @param holdMask  bit mask of the held dice, bit i standing for dice #i+1
+     * @param newValues new values of the dice not held, in the order of the dice
+     * @return the canonical dice serie of the values after the re-roll.
+     * @throws FonctionalException      in case of not allowed value, or if the number of new values is not the number
+     *                                  of dice not held.
+     * @throws IllegalArgumentException if the hold mask has bits set out of the {@value #NB_DICE} lowest ones, see
+     *                                  {@link #ALL_DICE}.
+     */
+    public DiceSerie reroll(int holdMask, int... newValues) throws FonctionalException {
+        if ((holdMask & ~ALL_DICE) != 0) {
+            throw new IllegalArgumentException(format("Wrong hold mask {0}: only the {1} lowest bits stand for dice",
+                    Integer.toBinaryString(holdMask), NB_DICE));
+        }
+        int nbRerolledDice = NB_DICE - Integer.bitCount(holdMask);
+        if (newValues.length != nbRerolledDice) {
+            throw new FonctionalException(format("Wrong number of new values: {0} dice are re-rolled, {1} values given",
+                    nbRerolledDice, newValues.length));
+        }
+        int newOrderedRoll = orderedRoll;
+        int newValue = 0;
+        for (int dice = 0; dice < NB_DICE; dice++) {
+            if ((holdMask & 1 << dice) == 0) {
+                int value = newValues[newValue++];
+                if (!isAllowedValue(value)) {
+                    throw wrongRerolledValue(value);
+                }
+                newOrderedRoll += (value - getValue(dice)) * RollIndex.placeValue(dice);
+            }
+        }
+        return ORDERED_ROLLS[newOrderedRoll];
+    }
+
+    private static FonctionalException wrongRerolledValue(int value) {
+        return new FonctionalException(format("Wrong dice value {0}: a dice value must be between {1} and {2} included.",
+                value, MIN_DICE_VALUE, MAX_DICE_VALUE));
+    }
+
+    private static int countOf(int value) {
+        return 1 << BITS_PER_ENTRY * (value - MIN_DICE_VALUE);
     }
 
-    private void validateValues() throws FonctionalException {
-        if (values.stream().anyMatch(NOT_ALLOWED_VALUE)) {
+    /**
+     * @return the index of the ordered roll of these values.
+     * @throws FonctionalException in case of not allowed values.
+     */
+    private static int validateValues(int value1, int value2, int value3, int value4, int value5) throws FonctionalException {
+        if (!isValid(value1, value2, value3, value4, value5)) {
             throw new FonctionalException(
                     format("Wrong dice values: a dice serie must be composed of values between {0} and {1} included.",
                             MIN_DICE_VALUE,
                             MAX_DICE_VALUE
                     ));
         }
+        return RollIndex.orderedIndex(value1, value2, value3, value4, value5);
+    }
+
+    /**
+     * Validate consecutive rolls at once.
+     *
+     * @param values dice values, NB_DICE per roll
+     * @throws FonctionalException in case of not allowed values, indicating the first invalid roll.
+     */
+    static void validateValues(byte[] values) throws FonctionalException {
+        if (values.length % NB_DICE != 0) {
+            throw new IllegalArgumentException(format("{0} values do not make rolls of {1} dice", values.length, NB_DICE));
+        }
+        // branch free pass, a not allowed value sets the sign bit of the accumulator
+        int notAllowedValues = 0;
+        for (byte value : values) {
+            notAllowedValues |= (value - MIN_DICE_VALUE) | (MAX_DICE_VALUE - value);
+        }
+        if (notAllowedValues < 0) {
+            int position = 0;
+            while (isAllowedValue(values[position])) {
+                position++;
+            }
+            throw new FonctionalException(
+                    format("Wrong dice values for roll #{0}: a dice serie must be composed of values between {1} and {2} included.",
+                            position / NB_DICE + 1,
+                            MIN_DICE_VALUE,
+                            MAX_DICE_VALUE
+                    ));
+        }
+    }
+
+    // a single unsigned comparison covers both bounds
+    private static boolean isAllowedValue(int value) {
+        return Integer.compareUnsigned(value - MIN_DICE_VALUE, MAX_DICE_VALUE - MIN_DICE_VALUE) <= 0;
     }
 
     /**
@@ -52,28 +285,142 @@ public class DiceSerie {
      * <li>for dices serie `2, 2, 2, 5, 5`, returns array int[]{0, 0, 3, 0, 0, 2, 0}</li>
      *
      * @return an array of length MAX_DICE_VALUE + 1 (0 is ignored), composed of the number of dices having a value, for each value (i.e. the array indexes).
+     * @see #getNbOccurrencies(int) to get the number of dices of a value without allocation.
      */
     public int[] getNbOccurrenciesByValue() {
         int[] countsByValue = new int[MAX_DICE_VALUE + 1];
+        for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+            countsByValue[value] = getNbOccurrencies(value);
+        }
+        return countsByValue;
+    }
 
-        Map<Integer, Long> countsByValueMap = values.stream().collect(groupingBy(identity(), counting()));
-        countsByValueMap.forEach((value, count) -> countsByValue[value] = count.intValue());
+    /**
+     * @param value a dice value, between MIN_DICE_VALUE and MAX_DICE_VALUE included
+     * @return the number of dices having this value.
+     */
+    public int getNbOccurrencies(int value) {
+        return packedCounts >>> BITS_PER_ENTRY * (value - MIN_DICE_VALUE) & ENTRY_MASK;
+    }
 
-        return countsByValue;
+    /**
+     * @param dice index of the dice, from 0 for dice #1 to NB_DICE - 1 for dice #5
+     * @return the value of the dice.
+     */
+    public int getValue(int dice) {
+        return packedValues >>> BITS_PER_ENTRY * dice & ENTRY_MASK;
+    }
+
+    public int getSum() {
+        int sum = 0;
+        for (int dice = 0; dice < NB_DICE; dice++) {
+            sum += getValue(dice);
+        }
+        return sum;
     }
 
     public boolean isComposedOfOnlyOneKindOfValue() {
-        return values.stream().distinct().count() == 1;
+        for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+            if (getNbOccurrencies(value) == NB_DICE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tell if the serie contains all the values of a sequence, whatever the other values.
+     * For example, `1, 2, 3, 4, 6` contains the sequences `1` to `4` and `2` to `4`, but not `2` to `5`.
+     *
+     * @param firstValue first value of the sequence
+     * @param lastValue  last value of the sequence, greater than or equal to the first one
+     * @return true if every value from firstValue to lastValue is present.
+     */
+    public boolean containsSequence(int firstValue, int lastValue) {
+        int sequence = (presenceOf(lastValue + 1) - 1) & -presenceOf(firstValue);
+        return (presentValues & sequence) == sequence;
+    }
+
+    /**
+     * Tell if the serie contains a sequence of consecutive values, of at least a length, starting by any value.
+     * For example, `1, 3, 4, 5, 6` contains a sequence of 4 values.
+     *
+     * @param length length of the sequence
+     * @return true if a sequence of this length is present.
+     */
+    public boolean containsSequenceOf(int length) {
+        for (int firstValue = MIN_DICE_VALUE; firstValue + length - 1 <= MAX_DICE_VALUE; firstValue++) {
+            if (containsSequence(firstValue, firstValue + length - 1)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public String getValuesAsString(String delimiter) {
-        return values.stream()
-                .sorted()
-                .map(Object::toString)
-                .collect(joining(delimiter));
+        StringBuilder valuesAsString = new StringBuilder();
+        for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+            for (int occurrence = getNbOccurrencies(value); occurrence > 0; occurrence--) {
+                if (valuesAsString.length() > 0) {
+                    valuesAsString.append(delimiter);
+                }
+                valuesAsString.append(value);
+            }
+        }
+        return valuesAsString.toString();
+    }
+
+    /**
+     * @return the index of this dice serie among the 252 distinct rolls, regardless of the order of the values:
+     * the rank of its sorted values in lexicographic order, from 0 for `1, 1, 1, 1, 1` to 251 for `6, 6, 6, 6, 6`.
+     */
+    public int getRollIndex() {
+        return rollIndex;
+    }
+
+    /**
+     * @return the values of the dice on 3 bits per dice, dice #1 on the lowest bits: 15 bits in all.
+     */
+    public int getPackedValues() {
+        return packedValues;
     }
 
+    /**
+     * @return the number of occurrences of each value, on 3 bits per value, value 1 on the lowest bits.
+     */
+    int getPackedCounts() {
+        return packedCounts;
+    }
+
+    /**
+     * @return the index of the ordered roll of this dice serie.
+     */
+    int getOrderedRoll() {
+        return orderedRoll;
+    }
+
+    /**
+     * @return the values of the dice, in their order. The collection is built on first call and cannot be modified.
+     */
     public Collection<Integer> getValues() {
+        List<Integer> values = this.values;
+        if (values == null) {
+            values = unmodifiableList(Arrays.asList(getValue(0), getValue(1), getValue(2), getValue(3), getValue(4)));
+            this.values = values;
+        }
         return values;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof DiceSerie && packedValues == ((DiceSerie) other).packedValues;
+    }
+
+    @Override
+    public int hashCode() {
+        return packedValues;
+    }
 }
@@ -0,0 +1,113 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * How {@link Yatzy} logs the invalid rolls it is given.
+ *
+ * @see Yatzy#setInvalidRollLogging(InvalidRollLogging)
+ */
+public enum InvalidRollLogging {
+
+    // log each invalid roll, with its stack trace
+    EACH {
+        @Override
+        void log(Logger logger, FonctionalException exception) {
+            logger.log(Level.SEVERE, "Unable to instantiate Yatzy", exception);
+        }
+    },
+
+    // count the invalid rolls, and log their number at most once per minute, without stack trace
+    AGGREGATED {
+        private final long intervalInNanos = TimeUnit.MINUTES.toNanos(1);
+        private final AtomicLong nbInvalidRolls = new AtomicLong();
+        private final AtomicLong lastLogTime = new AtomicLong(System.nanoTime() - intervalInNanos);
+        private final AtomicReference<String> lastMessage = new AtomicReference<>();
+
+        @Override
+        void log(Logger logger, FonctionalException exception) {
+            log(logger, exception, System.nanoTime());
+        }
+
+        @Override
+        void log(Logger logger, FonctionalException exception, long nanoTime) {
+            lastMessage.set(exception.getMessage());
+            nbInvalidRolls.incrementAndGet();
+            long lastLog = lastLogTime.get();
+            if (nanoTime - lastLog >= intervalInNanos && lastLogTime.compareAndSet(lastLog, nanoTime)) {
+                logCount(logger);
+            }
+        }
+
+        @Override
+        void flush(Logger logger) {
+            flush(logger, System.nanoTime());
+        }
+
+        @Override
+        void flush(Logger logger, long nanoTime) {
+            lastLogTime.set(nanoTime);
+            logCount(logger);
+        }
+
+        private void logCount(Logger logger) {
+            long count = nbInvalidRolls.getAndSet(0);
+            if (count > 0) {
+                logger.log(Level.SEVERE, "Unable to instantiate Yatzy for {0} invalid roll(s), last one: {1}",
+                        new Object[]{count, lastMessage.get()});
+            }
+        }
+    },
+
+    // do not log invalid rolls
+    NONE {
+        @Override
+        void log(Logger logger, FonctionalException exception) {
+        }
+    };
+
+    static final String PROPERTY = "loicgeo.katas.yatzy.invalidRollLogging";
+
+    abstract void log(Logger logger, FonctionalException exception);
+
+    /**
+     * Log an invalid roll given at a time of {@link System#nanoTime()}, for the loggings depending on the time.
+     */
+    void log(Logger logger, FonctionalException exception, long nanoTime) {
+        log(logger, exception);
+    }
+
+    /**
+     * Log the invalid rolls counted but not logged yet, if any.
+     */
+    void flush(Logger logger) {
+    }
+
+    /**
+     * Log the invalid rolls counted but not logged yet, if any, at a time of {@link System#nanoTime()}.
+     */
+    void flush(Logger logger, long nanoTime) {
+        flush(logger);
+    }
+
+    /**
+     * @param logger logger warned of an unknown value of the property
+     * @return the logging set by the system property {@value #PROPERTY}, EACH by default or if the value is unknown.
+     */
+    static InvalidRollLogging fromSystemProperty(Logger logger) {
+        String name = System.getProperty(PROPERTY, EACH.name());
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException exception) {
+            logger.log(Level.WARNING, "Unknown invalid roll logging ''{0}'' set by {1}, each invalid roll is logged",
+                    new Object[]{name, PROPERTY});
+            return EACH;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package loicgeo.katas.yatzy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static loicgeo.katas.yatzy.RollIndex.*;
+
+/**
+ * Probabilities to get each distinct roll by re-rolling some dice, the other ones being kept.
+ * <p>
+ * Kept dice are a multiset of 0 to 5 values, identified by their rank in the ascending order of their packed counts
+ * (number of occurrences of each value, on 3 bits per value, value 1 on the lowest bits), between 0 and
+ * {@link #NB_KEPT} excluded. Transitions are stored as compressed sparse rows: the outcomes of kept dice {@code k} are
+ * the entries from {@code OUTCOMES_START[k]} included to {@code OUTCOMES_START[k + 1]} excluded.
+ */
+final class RerollTransitions {
+
+    static final int NB_KEPT = 462;
+
+    private static final int BITS_PER_VALUE = 3;
+    private static final int VALUE_MASK = (1 << BITS_PER_VALUE) - 1;
+
+    // packed counts of each kept dice, in ascending order
+    private static final int[] KEPT_COUNTS = new int[NB_KEPT];
+    // packed counts of each distinct roll
+    private static final int[] ROLL_COUNTS = new int[NB_DISTINCT_ROLLS];
+    // distinct rolls sorted by packed counts, to find a roll from its counts
+    private static final int[] SORTED_ROLL_COUNTS = new int[NB_DISTINCT_ROLLS];
+    private static final int[] ROLLS_BY_SORTED_COUNTS = new int[NB_DISTINCT_ROLLS];
+
+    // distinct rolls obtained by re-rolling the dice not kept, and their probabilities
+    static final int[] OUTCOMES_START = new int[NB_KEPT + 1];
+    static final int[] OUTCOME_ROLLS;
+    static final double[] OUTCOME_PROBABILITIES;
+
+    // kept dice that can be chosen from each distinct roll, including none and all of them
+    static final int[] SUBSETS_START = new int[NB_DISTINCT_ROLLS + 1];
+    static final int[] SUBSET_KEPT;
+
+    static final int NOTHING_KEPT;
+
+    static {
+        List<Integer> keptCounts = new ArrayList<>();
+        enumerateCounts(0, 1, NB_DICE, keptCounts, true);
+        for (int kept = 0; kept < NB_KEPT; kept++) {
+            KEPT_COUNTS[kept] = keptCounts.get(kept);
+        }
+        Arrays.sort(KEPT_COUNTS);
+        NOTHING_KEPT = keptIndex(0);
+
+        Integer[] sortedRolls = new Integer[NB_DISTINCT_ROLLS];
+        for (int roll = 0; roll < NB_DISTINCT_ROLLS; roll++) {
+            ROLL_COUNTS[roll] = packedCounts(valuesOfDistinctRoll(roll));
+            sortedRolls[roll] = roll;
+        }
+        Arrays.sort(sortedRolls, (roll1, roll2) -> Integer.compare(ROLL_COUNTS[roll1], ROLL_COUNTS[roll2]));
+        for (int rank = 0; rank < NB_DISTINCT_ROLLS; rank++) {
+            ROLLS_BY_SORTED_COUNTS[rank] = sortedRolls[rank];
+            SORTED_ROLL_COUNTS[rank] = ROLL_COUNTS[sortedRolls[rank]];
+        }
+
+        List<Integer> outcomeRolls = new ArrayList<>();
+        List<Double> outcomeProbabilities = new ArrayList<>();
+        for (int kept = 0; kept < NB_KEPT; kept++) {
+            OUTCOMES_START[kept] = outcomeRolls.size();
+            int nbRerolledDice = NB_DICE - size(KEPT_COUNTS[kept]);
+            List<Integer> rerolledCounts = new ArrayList<>();
+            enumerateCounts(0, 1, nbRerolledDice, rerolledCounts, false);
+            for (int rerolled : rerolledCounts) {
+                outcomeRolls.add(rollIndex(KEPT_COUNTS[kept] + rerolled));
+                outcomeProbabilities.add(probability(rerolled, nbRerolledDice));
+            }
+        }
+        OUTCOMES_START[NB_KEPT] = outcomeRolls.size();
+        OUTCOME_ROLLS = outcomeRolls.stream().mapToInt(Integer::intValue).toArray();
+        OUTCOME_PROBABILITIES = outcomeProbabilities.stream().mapToDouble(Double::doubleValue).toArray();
+
+        List<Integer> subsetKept = new ArrayList<>();
+        for (int roll = 0; roll < NB_DISTINCT_ROLLS; roll++) {
+            SUBSETS_START[roll] = subsetKept.size();
+            for (int kept = 0; kept < NB_KEPT; kept++) {
+                if (isSubset(KEPT_COUNTS[kept], ROLL_COUNTS[roll])) {
+                    subsetKept.add(kept);
+                }
+            }
+        }
+        SUBSETS_START[NB_DISTINCT_ROLLS] = subsetKept.size();
+        SUBSET_KEPT = subsetKept.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private RerollTransitions() {
+    }
+
+    /**
+     * Enumerate the packed counts of the multisets of values from {@code value} to 6, of {@code nbDice} values, or of
+     * at most {@code nbDice} values.
+     */
+    private static void enumerateCounts(int counts, int value, int nbDice, List<Integer> allCounts, boolean atMost) {
+        if (value > NB_FACES) {
+            if (atMost || nbDice == 0) {
+                allCounts.add(counts);
+            }
+            return;
+        }
+        for (int count = 0; count <= nbDice; count++) {
+            enumerateCounts(counts + (count << shift(value)), value + 1, nbDice - count, allCounts, atMost);
+        }
+    }
+
+    private static int shift(int value) {
+        return BITS_PER_VALUE * (value - 1);
+    }
+
+    static int count(int packedCounts, int value) {
+        return packedCounts >>> shift(value) & VALUE_MASK;
+    }
+
+    static int withValue(int packedCounts, int value) {
+        return packedCounts + (1 << shift(value));
+    }
+
+    static int withoutValue(int packedCounts, int value) {
+        return packedCounts - (1 << shift(value));
+    }
+
+    static int size(int packedCounts) {
+        int size = 0;
+        for (int value = 1; value <= NB_FACES; value++) {
+            size += count(packedCounts, value);
+        }
+        return size;
+    }
+
+    private static boolean isSubset(int packedCounts, int ofPackedCounts) {
+        for (int value = 1; value <= NB_FACES; value++) {
+            if (count(packedCounts, value) > count(ofPackedCounts, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int packedCounts(int[] values) {
+        int packedCounts = 0;
+        for (int value : values) {
+            packedCounts += 1 << shift(value);
+        }
+        return packedCounts;
+    }
+
+    // multinomial probability of the counts, for nbDice fair dice
+    private static double probability(int packedCounts, int nbDice) {
+        double probability = factorial(nbDice) / Math.pow(NB_FACES, nbDice);
+        for (int value = 1; value <= NB_FACES; value++) {
+            probability /= factorial(count(packedCounts, value));
+        }
+        return probability;
+    }
+
+    private static double factorial(int n) {
+        double factorial = 1;
+        for (int i = 2; i <= n; i++) {
+            factorial *= i;
+        }
+        return factorial;
+    }
+
+    /**
+     * @param packedCounts counts of 0 to 5 values
+     * @return the index of these kept dice.
+     */
+    static int keptIndex(int packedCounts) {
+        return Arrays.binarySearch(KEPT_COUNTS, packedCounts);
+    }
+
+    static int keptCounts(int kept) {
+        return KEPT_COUNTS[kept];
+    }
+
+    /**
+     * @param packedCounts counts of 5 values
+     * @return the index of the distinct roll of these values.
+     */
+    static int rollIndex(int packedCounts) {
+        return ROLLS_BY_SORTED_COUNTS[Arrays.binarySearch(SORTED_ROLL_COUNTS, packedCounts)];
+    }
+
+    static int rollCounts(int roll) {
+        return ROLL_COUNTS[roll];
+    }
+
+    /**
+     * Expected value of some kept dice, after re-rolling the other ones.
+     *
+     * @param rollValues value of each distinct roll
+     * @param keptValues filled with the expected value of each kept dice
+     */
+    static void expectKept(double[] rollValues, double[] keptValues) {
+        for (int kept = 0; kept < NB_KEPT; kept++) {
+            double value = 0;
+            for (int outcome = OUTCOMES_START[kept]; outcome < OUTCOMES_START[kept + 1]; outcome++) {
+                value += OUTCOME_PROBABILITIES[outcome] * rollValues[OUTCOME_ROLLS[outcome]];
+            }
+            keptValues[kept] = value;
+        }
+    }
+
+    /**
+     * Value of each distinct roll, keeping the best dice before re-rolling.
+     *
+     * @param keptValues value of each kept dice
+     * @param rollValues filled with the value of each distinct roll
+     */
+    static void chooseKept(double[] keptValues, double[] rollValues) {
+        for (int roll = 0; roll < NB_DISTINCT_ROLLS; roll++) {
+            rollValues[roll] = keptValues[bestKept(keptValues, roll)];
+        }
+    }
+
+    /**
+     * @return the kept dice of best value among the ones of a distinct roll, the first one for a same value.
+     */
+    static int bestKept(double[] keptValues, int roll) {
+        int bestKept = SUBSET_KEPT[SUBSETS_START[roll]];
+        for (int subset = SUBSETS_START[roll] + 1; subset < SUBSETS_START[roll + 1]; subset++) {
+            if (keptValues[SUBSET_KEPT[subset]] > keptValues[bestKept]) {
+                bestKept = SUBSET_KEPT[subset];
+            }
+        }
+        return bestKept;
+    }
+}
@@ -0,0 +1,102 @@
+package loicgeo.katas.yatzy;
+
+import java.util.Arrays;
+
+/**
+ * Indexes of the dice series.
+ * <li>an ordered roll is identified by its base-6 index, between 0 and {@link #NB_ORDERED_ROLLS} excluded</li>
+ * <li>a distinct roll (the multiset of the dice values, regardless of their order) is identified by its rank
+ * in the lexicographic order of the sorted dice values, between 0 and {@link #NB_DISTINCT_ROLLS} excluded</li>
+ */
+final class RollIndex {
+
+    static final int NB_DICE = 5;
+    static final int NB_FACES = 6;
+    static final int NB_ORDERED_ROLLS = 7776;
+    static final int NB_DISTINCT_ROLLS = 252;
+
+    // weight of the value of each dice in the index of an ordered roll
+    private static final int[] PLACE_VALUES = {1, NB_FACES, NB_FACES * NB_FACES, NB_FACES * NB_FACES * NB_FACES, NB_FACES * NB_FACES * NB_FACES * NB_FACES};
+    private static final short[] DISTINCT_ROLL_BY_ORDERED_ROLL = new short[NB_ORDERED_ROLLS];
+    private static final int[][] VALUES_BY_DISTINCT_ROLL = new int[NB_DISTINCT_ROLLS][];
+    // ordered roll of the sorted values of each distinct roll
+    private static final short[] SORTED_ROLL_BY_DISTINCT_ROLL = new short[NB_DISTINCT_ROLLS];
+
+    static {
+        int[] distinctRollBySortedRoll = new int[NB_ORDERED_ROLLS];
+        int distinctRoll = 0;
+        for (int d1 = 1; d1 <= NB_FACES; d1++) {
+            for (int d2 = d1; d2 <= NB_FACES; d2++) {
+                for (int d3 = d2; d3 <= NB_FACES; d3++) {
+                    for (int d4 = d3; d4 <= NB_FACES; d4++) {
+                        for (int d5 = d4; d5 <= NB_FACES; d5++) {
+                            distinctRollBySortedRoll[orderedIndex(d1, d2, d3, d4, d5)] = distinctRoll;
+                            VALUES_BY_DISTINCT_ROLL[distinctRoll] = new int[]{d1, d2, d3, d4, d5};
+                            SORTED_ROLL_BY_DISTINCT_ROLL[distinctRoll] = (short) orderedIndex(d1, d2, d3, d4, d5);
+                            distinctRoll++;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int orderedRoll = 0; orderedRoll < NB_ORDERED_ROLLS; orderedRoll++) {
+            int[] values = valuesOfOrderedRoll(orderedRoll);
+            Arrays.sort(values);
+            int sortedRoll = orderedIndex(values[0], values[1], values[2], values[3], values[4]);
+            DISTINCT_ROLL_BY_ORDERED_ROLL[orderedRoll] = (short) distinctRollBySortedRoll[sortedRoll];
+        }
+    }
+
+    private RollIndex() {
+    }
+
+    /**
+     * Index of an ordered roll. Values are supposed to be valid.
+     *
+     * @return the base-6 index of the roll, dice #1 being the least significant digit.
+     */
+    static int orderedIndex(int d1, int d2, int d3, int d4, int d5) {
+        return (d1 - 1)
+                + NB_FACES * ((d2 - 1)
+                + NB_FACES * ((d3 - 1)
+                + NB_FACES * ((d4 - 1)
+                + NB_FACES * (d5 - 1))));
+    }
+
+    /**
+     * @param dice index of the dice, from 0 for dice #1
+     * @return the weight of the value of this dice in the index of an ordered roll.
+     */
+    static int placeValue(int dice) {
+        return PLACE_VALUES[dice];
+    }
+
+    static int distinctIndex(int orderedRoll) {
+        return DISTINCT_ROLL_BY_ORDERED_ROLL[orderedRoll];
+    }
+
+    static int distinctIndex(int d1, int d2, int d3, int d4, int d5) {
+        return distinctIndex(orderedIndex(d1, d2, d3, d4, d5));
+    }
+
+    static int orderedIndexOfDistinctRoll(int distinctRoll) {
+        return SORTED_ROLL_BY_DISTINCT_ROLL[distinctRoll];
+    }
+
+    /**
+     * @return a copy of the sorted values of a distinct roll.
+     */
+    static int[] valuesOfDistinctRoll(int distinctRoll) {
+        return VALUES_BY_DISTINCT_ROLL[distinctRoll].clone();
+    }
+
+    static int[] valuesOfOrderedRoll(int orderedRoll) {
+        int[] values = new int[NB_DICE];
+        for (int dice = 0; dice < NB_DICE; dice++) {
+            values[dice] = orderedRoll % NB_FACES + 1;
+            orderedRoll /= NB_FACES;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,367 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.text.MessageFormat.format;
+import static java.util.Collections.unmodifiableList;
+import static loicgeo.katas.yatzy.DiceSerie.MAX_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.MIN_DICE_VALUE;
+import static loicgeo.katas.yatzy.ScoringRules.*;
+
+/**
+ * Rules of a variant of the game: its number of dice, its categories and its upper section bonus.
+ * <p>
+ * When built, the scoring rules of the categories are applied once to every distinct roll of the variant, so that
+ * scoring a roll is a lookup in a table, whatever the variant.
+ */
+public final class RuleSet {
+
+    /**
+     * Scoring rule of a category.
+     */
+    @FunctionalInterface
+    public interface ScoringRule {
+        /**
+         * @param countsByValue number of dice of each value, see {@link DiceSerie#getNbOccurrenciesByValue()}
+         * @return the score of the roll.
+         */
+        int score(int[] countsByValue);
+    }
+
+    /**
+     * The Scandinavian rules of {@link YatzyCategory}, with five dice.
+     */
+    public static final RuleSet YATZY = yatzy();
+
+    /**
+     * The American rules, with five dice: three and four of a kind score all the dice, a full house 25,
+     * any 4 consecutive values 30 and any 5 consecutive values 40.
+     */
+    public static final RuleSet YAHTZEE = builder("Yahtzee", 5)
+            .upperSectionCategory("ONES", sumOf(1))
+            .upperSectionCategory("TWOS", sumOf(2))
+            .upperSectionCategory("THREES", sumOf(3))
+            .upperSectionCategory("FOURS", sumOf(4))
+            .upperSectionCategory("FIVES", sumOf(5))
+            .upperSectionCategory("SIXES", sumOf(6))
+            .category("THREE_Of_A_KIND", sumIfOfAKind(3))
+            .category("FOUR_Of_A_KIND", sumIfOfAKind(4))
+            .category("FULL_HOUSE", fullHouse(25))
+            .category("SMALL_STRAIGHT", sequenceOf(4, 30))
+            .category("LARGE_STRAIGHT", sequenceOf(5, 40))
+            .category("YAHTZEE", allSame(50))
+            .category("CHANCE", chance())
+            .upperSectionBonus(63, 35)
+            .build();
+
+    /**
+     * The Scandinavian rules with six dice.
+     */
+    public static final RuleSet MAXI_YATZY = builder("Maxi Yatzy", 6)
+            .upperSectionCategory("ONES", sumOf(1))
+            .upperSectionCategory("TWOS", sumOf(2))
+            .upperSectionCategory("THREES", sumOf(3))
+            .upperSectionCategory("FOURS", sumOf(4))
+            .upperSectionCategory("FIVES", sumOf(5))
+            .upperSectionCategory("SIXES", sumOf(6))
+            .category("PAIR", pairs(1))
+            .category("TWO_PAIRS", pairs(2))
+            .category("THREE_PAIRS", pairs(3))
+            .category("THREE_Of_A_KIND", ofAKind(3))
+            .category("FOUR_Of_A_KIND", ofAKind(4))
+            .category("FIVE_Of_A_KIND", ofAKind(5))
+            .category("SMALL_STRAIGHT", straight(1, 5, 15))
+            .category("LARGE_STRAIGHT", straight(2, 6, 20))
+            .category("FULL_STRAIGHT", straight(1, 6, 21))
+            .category("FULL_HOUSE", sets(3, 2))
+            .category("CASTLE", sets(3, 3))
+            .category("TOWER", sets(4, 2))
+            .category("CHANCE", chance())
+            .category("MAXI_YATZY", allSame(100))
+            .upperSectionBonus(84, 100)
+            .build();
+
+    private static final int NB_FACES = MAX_DICE_VALUE - MIN_DICE_VALUE + 1;
+
+    private final String name;
+    private final int nbDice;
+    private final List<String> categories;
+    private final long upperSectionCategories;
+    private final int upperSectionBonusThreshold;
+    private final int upperSectionBonus;
+
+    // index of the distinct roll of each ordered roll, dice #1 being the least significant base-6 digit
+    private final short[] distinctRollByOrderedRoll;
+    // scores indexed by distinct roll, then by category
+    private final short[] scores;
+
+    private RuleSet(Builder builder) {
+        name = builder.name;
+        nbDice = builder.nbDice;
+        categories = unmodifiableList(new ArrayList<>(builder.categories));
+        upperSectionCategories = builder.upperSectionCategories;
+        upperSectionBonusThreshold = builder.upperSectionBonusThreshold;
+        upperSectionBonus = builder.upperSectionBonus;
+
+        int nbOrderedRolls = (int) Math.pow(NB_FACES, nbDice);
+        distinctRollByOrderedRoll = new short[nbOrderedRolls];
+        List<int[]> distinctRolls = new ArrayList<>();
+        int[] distinctRollBySortedRoll = new int[nbOrderedRolls];
+        for (int orderedRoll = 0; orderedRoll < nbOrderedRolls; orderedRoll++) {
+            int[] values = values(orderedRoll);
+            if (isSorted(values)) {
+                distinctRollBySortedRoll[orderedRoll] = distinctRolls.size();
+                distinctRolls.add(values);
+            }
+        }
+        for (int orderedRoll = 0; orderedRoll < nbOrderedRolls; orderedRoll++) {
+            int[] values = values(orderedRoll);
+            Arrays.sort(values);
+            distinctRollByOrderedRoll[orderedRoll] = (short) distinctRollBySortedRoll[orderedIndex(values)];
+        }
+
+        int nbCategories = categories.size();
+        scores = new short[distinctRolls.size() * nbCategories];
+        for (int distinctRoll = 0; distinctRoll < distinctRolls.size(); distinctRoll++) {
+            int[] countsByValue = new int[MAX_DICE_VALUE + 1];
+            for (int value : distinctRolls.get(distinctRoll)) {
+                countsByValue[value]++;
+            }
+            for (int category = 0; category < nbCategories; category++) {
+                scores[distinctRoll * nbCategories + category] = (short) builder.rules.get(category).score(countsByValue.clone());
+            }
+        }
+    }
+
+    public static Builder builder(String name, int nbDice) {
+        return new Builder(name, nbDice);
+    }
+
+    // the scoring rules of the categories themselves, not their scoring entry point counted by the metrics
+    static RuleSet yatzy() {
+        Builder builder = builder("Yatzy", DiceSerie.NB_DICE);
+        for (YatzyCategory category : YatzyCategory.values()) {
+            ScoringRule rule = countsByValue -> category.referenceScore(diceSerie(countsByValue));
+            if (category.isUpperSection()) {
+                builder.upperSectionCategory(category.name(), rule);
+            } else {
+                builder.category(category.name(), rule);
+            }
+        }
+        return builder
+                .upperSectionBonus(Scorecard.UPPER_SECTION_BONUS_THRESHOLD, YatzyCategory.DefaultScores.SCORE_UPPER_SECTION_BONUS.getScore())
+                .build();
+    }
+
+    private static DiceSerie diceSerie(int[] countsByValue) {
+        int[] values = new int[DiceSerie.NB_DICE];
+        int dice = 0;
+        for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+            for (int occurrence = 0; occurrence < countsByValue[value]; occurrence++) {
+                values[dice++] = value;
+            }
+        }
+        return DiceSerie.ofOrderedRoll(RollIndex.orderedIndex(values[0], values[1], values[2], values[3], values[4]));
+    }
+
+    private int[] values(int orderedRoll) {
+        int[] values = new int[nbDice];
+        for (int dice = 0; dice < nbDice; dice++) {
+            values[dice] = orderedRoll % NB_FACES + MIN_DICE_VALUE;
+            orderedRoll /= NB_FACES;
+        }
+        return values;
+    }
+
+    private static boolean isSorted(int[] values) {
+        for (int dice = 1; dice < values.length; dice++) {
+            if (values[dice] < values[dice - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int orderedIndex(int[] values) {
+        int orderedRoll = 0;
+        for (int dice = values.length - 1; dice >= 0; dice--) {
+            orderedRoll = orderedRoll * NB_FACES + values[dice] - MIN_DICE_VALUE;
+        }
+        return orderedRoll;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getNbDice() {
+        return nbDice;
+    }
+
+    /**
+     * @return the names of the categories, in their order.
+     */
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * @param categoryName name of a category
+     * @return the index of the category.
+     * @throws IllegalArgumentException if the rule set has no such category.
+     */
+    public int categoryIndex(String categoryName) {
+        int category = categories.indexOf(categoryName);
+        if (category < 0) {
+            throw new IllegalArgumentException(format("No category {0} in {1}", categoryName, name));
+        }
+        return category;
+    }
+
+    public boolean isUpperSection(int category) {
+        return (upperSectionCategories & 1L << category) != 0;
+    }
+
+    public int getUpperSectionBonusThreshold() {
+        return upperSectionBonusThreshold;
+    }
+
+    public int getUpperSectionBonus() {
+        return upperSectionBonus;
+    }
+
+    /**
+     * @return the best possible score of a game, every category scoring its best score.
+     */
+    public int getMaxScore() {
+        int nbCategories = categories.size();
+        int maxScore = 0;
+        int maxUpperSectionTotal = 0;
+        for (int category = 0; category < nbCategories; category++) {
+            int maxCategoryScore = 0;
+            for (int score = category; score < scores.length; score += nbCategories) {
+                maxCategoryScore = Math.max(maxCategoryScore, scores[score]);
+            }
+            maxScore += maxCategoryScore;
+            if (isUpperSection(category)) {
+                maxUpperSectionTotal += maxCategoryScore;
+            }
+        }
+        return maxScore + (maxUpperSectionTotal >= upperSectionBonusThreshold ? upperSectionBonus : 0);
+    }
+
+    /**
+     * Score a roll in a category. Given as an array, the values are read without allocation.
+     *
+     * @param category index of the category
+     * @param values   the dice values, one per dice
+     * @return the score of the roll in the category.
+     * @throws FonctionalException in case of an unknown category, of a wrong number of dice, or of not allowed values.
+     */
+    public int score(int category, int... values) throws FonctionalException {
+        checkCategory(category);
+        if (values.length != nbDice) {
+            throw new FonctionalException(format("Wrong dice values: {0} expects {1} dice, not {2}", name, nbDice, values.length));
+        }
+        int orderedRoll = 0;
+        for (int dice = nbDice - 1; dice >= 0; dice--) {
+            if (values[dice] < MIN_DICE_VALUE || values[dice] > MAX_DICE_VALUE) {
+                throw new FonctionalException(
+                        format("Wrong dice values: a dice serie must be composed of values between {0} and {1} included.",
+                                MIN_DICE_VALUE,
+                                MAX_DICE_VALUE
+                        ));
+            }
+            orderedRoll = orderedRoll * NB_FACES + values[dice] - MIN_DICE_VALUE;
+        }
+        return scores[distinctRollByOrderedRoll[orderedRoll] * categories.size() + category];
+    }
+
+    /**
+     * Score a dice serie, already validated, in a category.
+     *
+     * @param category  index of the category, see {@link #categoryIndex(String)}
+     * @param diceSerie a set of dice values
+     * @return the score of the dice serie in the category.
+     * @throws IllegalArgumentException in case of an unknown category, or if the rule set is not played with
+     *                                  {@value DiceSerie#NB_DICE} dice: the caller has mixed up the rule sets.
+     */
+    public int score(int category, DiceSerie diceSerie) {
+        if (category < 0 || category >= categories.size()) {
+            throw new IllegalArgumentException(format("Unknown category: {0} has {1} categories, not a category #{2}",
+                    name, categories.size(), category));
+        }
+        if (nbDice != DiceSerie.NB_DICE) {
+            throw new IllegalArgumentException(format("A dice serie of {0} dice cannot be scored by {1}, played with {2} dice",
+                    DiceSerie.NB_DICE, name, nbDice));
+        }
+        // the ordered rolls of a rule set of 5 dice are the ones of RollIndex
+        return scores[distinctRollByOrderedRoll[diceSerie.getOrderedRoll()] * categories.size() + category];
+    }
+
+    private void checkCategory(int category) throws FonctionalException {
+        if (category < 0 || category >= categories.size()) {
+            throw new FonctionalException(format("Unknown category: {0} has {1} categories, not a category #{2}",
+                    name, categories.size(), category));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final int nbDice;
+        private final List<String> categories = new ArrayList<>();
+        private final List<ScoringRule> rules = new ArrayList<>();
+        private long upperSectionCategories;
+        private int upperSectionBonusThreshold;
+        private int upperSectionBonus;
+
+        private Builder(String name, int nbDice) {
+            if (nbDice < 1 || nbDice > 6) {
+                throw new IllegalArgumentException(format("A rule set has from 1 to 6 dice, not {0}", nbDice));
+            }
+            this.name = name;
+            this.nbDice = nbDice;
+        }
+
+        public Builder category(String categoryName, ScoringRule rule) {
+            if (categories.contains(categoryName)) {
+                throw new IllegalArgumentException(format("Category {0} is already defined", categoryName));
+            }
+            if (categories.size() == Long.SIZE) {
+                throw new IllegalArgumentException(format("A rule set has at most {0} categories", Long.SIZE));
+            }
+            categories.add(categoryName);
+            rules.add(rule);
+            return this;
+        }
+
+        public Builder upperSectionCategory(String categoryName, ScoringRule rule) {
+            category(categoryName, rule);
+            upperSectionCategories |= 1L << categories.size() - 1;
+            return this;
+        }
+
+        /**
+         * @param threshold total of the upper section from which the bonus is scored
+         * @param bonus     score of the bonus
+         */
+        public Builder upperSectionBonus(int threshold, int bonus) {
+            upperSectionBonusThreshold = threshold;
+            upperSectionBonus = bonus;
+            return this;
+        }
+
+        public RuleSet build() {
+            return new RuleSet(this);
+        }
+    }
+}
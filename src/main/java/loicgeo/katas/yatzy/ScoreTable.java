@@ -0,0 +1,126 @@
+package loicgeo.katas.yatzy;
+
+import java.util.zip.CRC32;
+
+import static java.text.MessageFormat.format;
+import static loicgeo.katas.yatzy.RollIndex.*;
+
+/**
+ * Scores of every distinct roll for every {@link YatzyCategory}, computed once from the scoring rules of the categories.
+ * <p>
+ * Setting the system property {@value #VERIFY_PROPERTY} to {@code true} checks, at initialization, that the table
+ * matches the scoring rules for each of the {@value RollIndex#NB_ORDERED_ROLLS} ordered rolls.
+ */
+final class ScoreTable {
+
+    static final String VERIFY_PROPERTY = "loicgeo.katas.yatzy.verifyScoreTable";
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+    private static final int NB_CATEGORIES = CATEGORIES.length;
+
+    // scores indexed by distinct roll, then by category ordinal
+    private static final byte[] SCORES = new byte[NB_DISTINCT_ROLLS * NB_CATEGORIES];
+    // category ordinals indexed by distinct roll, from the best score to the worst one
+    private static final byte[] RANKED_CATEGORIES = new byte[NB_DISTINCT_ROLLS * NB_CATEGORIES];
+
+    static {
+        for (int distinctRoll = 0; distinctRoll < NB_DISTINCT_ROLLS; distinctRoll++) {
+            int[] values = valuesOfDistinctRoll(distinctRoll);
+            DiceSerie diceSerie = DiceSerie.ofOrderedRoll(orderedIndex(values[0], values[1], values[2], values[3], values[4]));
+            for (YatzyCategory category : CATEGORIES) {
+                SCORES[distinctRoll * NB_CATEGORIES + category.ordinal()] = (byte) category.referenceScore(diceSerie);
+            }
+        }
+        for (int distinctRoll = 0; distinctRoll < NB_DISTINCT_ROLLS; distinctRoll++) {
+            rankCategories(distinctRoll);
+        }
+        if (Boolean.getBoolean(VERIFY_PROPERTY)) {
+            verify();
+        }
+    }
+
+    private ScoreTable() {
+    }
+
+    // insertion sort of the categories by decreasing score, categories of a same score staying in their order
+    private static void rankCategories(int distinctRoll) {
+        int rollOffset = distinctRoll * NB_CATEGORIES;
+        for (int category = 0; category < NB_CATEGORIES; category++) {
+            int rank = category;
+            while (rank > 0 && SCORES[rollOffset + RANKED_CATEGORIES[rollOffset + rank - 1]] < SCORES[rollOffset + category]) {
+                RANKED_CATEGORIES[rollOffset + rank] = RANKED_CATEGORIES[rollOffset + rank - 1];
+                rank--;
+            }
+            RANKED_CATEGORIES[rollOffset + rank] = (byte) category;
+        }
+    }
+
+    static int score(YatzyCategory category, int distinctRoll) {
+        return SCORES[distinctRoll * NB_CATEGORIES + category.ordinal()];
+    }
+
+    /**
+     * @param distinctRoll   index of a distinct roll
+     * @param openCategories bit mask of the categories to choose from, bit i standing for the category of ordinal i
+     * @return the category of the best score among the open ones, the first in order for a same score, or null if
+     * no category is open.
+     */
+    static YatzyCategory bestCategory(int distinctRoll, int openCategories) {
+        int rollOffset = distinctRoll * NB_CATEGORIES;
+        for (int rank = 0; rank < NB_CATEGORIES; rank++) {
+            int category = RANKED_CATEGORIES[rollOffset + rank];
+            if ((openCategories & 1 << category) != 0) {
+                return CATEGORIES[category];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return a checksum of the scores of all the distinct rolls, changing with the scoring rules of the categories.
+     */
+    static long fingerprint() {
+        CRC32 checksum = new CRC32();
+        checksum.update(NB_CATEGORIES);
+        checksum.update(SCORES, 0, SCORES.length);
+        return checksum.getValue();
+    }
+
+    /**
+     * Score consecutive rolls for some categories. Values are supposed to be valid.
+     *
+     * @param values     dice values, 5 per roll
+     * @param categories categories to score each roll for
+     * @param scores     scores of each roll, one per category, in the order of the categories
+     */
+    static void scoreAll(byte[] values, YatzyCategory[] categories, int[] scores) {
+        int nbCategories = categories.length;
+        for (int roll = 0, offset = 0; offset < values.length; roll++, offset += NB_DICE) {
+            int distinctRoll = distinctIndex(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]);
+            int rollScores = distinctRoll * NB_CATEGORIES;
+            for (int category = 0; category < nbCategories; category++) {
+                scores[roll * nbCategories + category] = SCORES[rollScores + categories[category].ordinal()];
+            }
+        }
+    }
+
+    /**
+     * Check the table against the scoring rules of the categories, for all the ordered rolls.
+     *
+     * @throws IllegalStateException at the first score differing from its scoring rule.
+     */
+    static void verify() {
+        for (int orderedRoll = 0; orderedRoll < NB_ORDERED_ROLLS; orderedRoll++) {
+            DiceSerie diceSerie = DiceSerie.ofOrderedRoll(orderedRoll);
+            for (YatzyCategory category : CATEGORIES) {
+                int expectedScore = category.referenceScore(diceSerie);
+                int score = score(category, diceSerie.getRollIndex());
+                if (score != expectedScore) {
+                    throw new IllegalStateException(
+                            format("Score table mismatch for {0} on roll ''{1}'': {2} instead of {3}",
+                                    category, diceSerie.getValuesAsString(","), score, expectedScore));
+                }
+            }
+        }
+    }
+}
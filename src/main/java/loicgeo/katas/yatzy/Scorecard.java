@@ -0,0 +1,226 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import static java.text.MessageFormat.format;
+import static loicgeo.katas.yatzy.YatzyCategory.DefaultScores.SCORE_UPPER_SECTION_BONUS;
+
+/**
+ * Scorecard of a player during a game: the categories already used, and the scores.
+ * <p>
+ * The whole scorecard is packed in a single long, its state:
+ * <li>bits 0 to 15: bit mask of the used categories, see {@link YatzyCategory#mask()}</li>
+ * <li>bits 16 to 31: total of the upper section, without bonus</li>
+ * <li>bits 32 to 47: total of the other categories</li>
+ * <li>bits 48 to 63: unused, always 0</li>
+ * The static methods work directly on a state, so that scorecards can be stored as primitives.
+ */
+public final class Scorecard {
+
+    /**
+     * Total of the upper section from which the bonus is scored.
+     */
+    public static final int UPPER_SECTION_BONUS_THRESHOLD = 63;
+
+    /**
+     * Best score of a category, a yatzy.
+     */
+    public static final int MAX_CATEGORY_SCORE = YatzyCategory.DefaultScores.SCORE_YATZY.getScore();
+
+    /**
+     * Best total of a game, each category scoring its best score, upper section bonus included.
+     */
+    public static final int MAX_TOTAL = maxTotal();
+
+    private static final int UPPER_SECTION_SHIFT = 16;
+    private static final int LOWER_SECTION_SHIFT = 32;
+    private static final long FIELD_MASK = 0xFFFFL;
+    private static final int UNUSED_SHIFT = 48;
+
+    private long state;
+
+    /**
+     * Initialize an empty scorecard, for a new game.
+     */
+    public Scorecard() {
+    }
+
+    private Scorecard(long state) {
+        this.state = state;
+    }
+
+    /**
+     * @param state a state, as returned by {@link #getState()}
+     * @return a scorecard initialized with this state.
+     * @throws IllegalArgumentException if the state is not a possible state, see {@link #isPossibleState(long)}.
+     */
+    public static Scorecard fromState(long state) {
+        if (!isPossibleState(state)) {
+            throw new IllegalArgumentException(format("Not a scorecard state: {0}", Long.toHexString(state)));
+        }
+        return new Scorecard(state);
+    }
+
+    /**
+     * Empty the scorecard, for a new game.
+     */
+    public void reset() {
+        state = 0;
+    }
+
+    // from the score table, without building the Yatzy rule set
+    private static int maxTotal() {
+        int maxUpperSectionTotal = 0;
+        int maxTotal = 0;
+        for (YatzyCategory category : YatzyCategory.values()) {
+            int maxScore = 0;
+            for (int distinctRoll = 0; distinctRoll < RollIndex.NB_DISTINCT_ROLLS; distinctRoll++) {
+                maxScore = Math.max(maxScore, ScoreTable.score(category, distinctRoll));
+            }
+            if (category.isUpperSection()) {
+                maxUpperSectionTotal += maxScore;
+            }
+            maxTotal += maxScore;
+        }
+        int bonus = maxUpperSectionTotal >= UPPER_SECTION_BONUS_THRESHOLD ? SCORE_UPPER_SECTION_BONUS.getScore() : 0;
+        return maxTotal + bonus;
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Score a dice serie in a category not used yet, and mark the category as used.
+     *
+     * @param category  the category to score
+     * @param diceSerie a set of dice values
+     * @return the score of the dice serie for the category.
+     * @throws FonctionalException if the category has already been used.
+     */
+    public int score(YatzyCategory category, DiceSerie diceSerie) throws FonctionalException {
+        checkOpen(state, category);
+        int score = category.score(diceSerie);
+        state = withScore(state, category, score);
+        return score;
+    }
+
+    public boolean isUsed(YatzyCategory category) {
+        return isUsed(state, category);
+    }
+
+    public int getUsedCategories() {
+        return usedCategories(state);
+    }
+
+    public int getOpenCategories() {
+        return openCategories(state);
+    }
+
+    public boolean isComplete() {
+        return isComplete(state);
+    }
+
+    public int getUpperSectionTotal() {
+        return upperSectionTotal(state);
+    }
+
+    public int getUpperSectionBonus() {
+        return upperSectionBonus(state);
+    }
+
+    public int getTotal() {
+        return total(state);
+    }
+
+    /**
+     * Score a dice serie in a category not used yet, and mark the category as used.
+     *
+     * @param state     state of a scorecard
+     * @param category  the category to score
+     * @param diceSerie a set of dice values
+     * @return the new state of the scorecard.
+     * @throws FonctionalException if the category has already been used.
+     */
+    public static long score(long state, YatzyCategory category, DiceSerie diceSerie) throws FonctionalException {
+        checkOpen(state, category);
+        return withScore(state, category, category.score(diceSerie));
+    }
+
+    /**
+     * Record the score of a category not used yet, already computed by {@link YatzyCategory#score(DiceSerie)}, and
+     * mark the category as used. To update a state several times, as in a compare-and-set loop, with a roll scored
+     * only once.
+     *
+     * @param state    state of a scorecard
+     * @param category the category to score
+     * @param score    the score of a dice serie for the category
+     * @return the new state of the scorecard.
+     * @throws FonctionalException      if the category has already been used.
+     * @throws IllegalArgumentException if the score is not a possible score of a category.
+     */
+    public static long score(long state, YatzyCategory category, int score) throws FonctionalException {
+        if (score < 0 || score > MAX_CATEGORY_SCORE) {
+            throw new IllegalArgumentException(
+                    format("A score from 0 to {0} is expected: {1}", MAX_CATEGORY_SCORE, score));
+        }
+        checkOpen(state, category);
+        return withScore(state, category, score);
+    }
+
+    private static void checkOpen(long state, YatzyCategory category) throws FonctionalException {
+        if (isUsed(state, category)) {
+            throw new FonctionalException(format("Category {0} has already been used", category));
+        }
+    }
+
+    private static long withScore(long state, YatzyCategory category, long score) {
+        long shift = category.isUpperSection() ? UPPER_SECTION_SHIFT : LOWER_SECTION_SHIFT;
+        return state + (score << shift) | category.mask();
+    }
+
+    /**
+     * @return true if the state only uses the bits of the categories and of the totals.
+     */
+    public static boolean isPossibleState(long state) {
+        return (usedCategories(state) & ~YatzyCategory.ALL_CATEGORIES) == 0 && state >>> UNUSED_SHIFT == 0;
+    }
+
+    public static boolean isUsed(long state, YatzyCategory category) {
+        return (usedCategories(state) & category.mask()) != 0;
+    }
+
+    public static int usedCategories(long state) {
+        return (int) (state & FIELD_MASK);
+    }
+
+    public static int openCategories(long state) {
+        return YatzyCategory.ALL_CATEGORIES & ~usedCategories(state);
+    }
+
+    public static boolean isComplete(long state) {
+        return openCategories(state) == 0;
+    }
+
+    public static int upperSectionTotal(long state) {
+        return (int) (state >>> UPPER_SECTION_SHIFT & FIELD_MASK);
+    }
+
+    /**
+     * @return the total of the categories out of the upper section.
+     */
+    public static int lowerSectionTotal(long state) {
+        return (int) (state >>> LOWER_SECTION_SHIFT & FIELD_MASK);
+    }
+
+    public static int upperSectionBonus(long state) {
+        return upperSectionTotal(state) >= UPPER_SECTION_BONUS_THRESHOLD ? SCORE_UPPER_SECTION_BONUS.getScore() : 0;
+    }
+
+    /**
+     * @return the total of the scorecard, including the upper section bonus.
+     */
+    public static int total(long state) {
+        return upperSectionTotal(state) + upperSectionBonus(state) + lowerSectionTotal(state);
+    }
+}
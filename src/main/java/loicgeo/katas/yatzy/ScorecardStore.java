@@ -0,0 +1,128 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Scorecards of many concurrent games, updated without lock.
+ * <p>
+ * Each game is a slot holding the state of its scorecard, see {@link Scorecard#getState()}. Scoring a game replaces
+ * its state with a compare-and-set, retried if another thread scored the same game meanwhile: threads updating
+ * different games never wait for each other, and two threads scoring the same category of a game cannot both succeed.
+ */
+public final class ScorecardStore {
+
+    private final AtomicLongArray states;
+    private final AtomicInteger nbGames = new AtomicInteger();
+
+    /**
+     * @param capacity maximum number of games
+     */
+    public ScorecardStore(int capacity) {
+        states = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Start a new game, with an empty scorecard.
+     *
+     * @return the identifier of the game.
+     * @throws IllegalStateException if the store is full.
+     */
+    public int newGame() {
+        int game = nbGames.getAndIncrement();
+        if (game >= states.length()) {
+            nbGames.decrementAndGet();
+            throw new IllegalStateException(format("The store is full: {0} games", states.length()));
+        }
+        return game;
+    }
+
+    /**
+     * Score a dice serie in a category not used yet of a game.
+     *
+     * @param game      identifier of the game
+     * @param category  the category to score
+     * @param diceSerie a set of dice values
+     * @return the score of the dice serie for the category.
+     * @throws FonctionalException if the category has already been used in this game.
+     */
+    public int score(int game, YatzyCategory category, DiceSerie diceSerie) throws FonctionalException {
+        int score = category.score(diceSerie);
+        scoreAndGetState(game, category, score);
+        return score;
+    }
+
+    /**
+     * Score a dice serie in a category not used yet of a game.
+     *
+     * @param game      identifier of the game
+     * @param category  the category to score
+     * @param diceSerie a set of dice values
+     * @return the state of the scorecard of the game right after this score; only the call scoring the last open
+     * category gets a complete scorecard.
+     * @throws FonctionalException if the category has already been used in this game.
+     */
+    public long scoreAndGetState(int game, YatzyCategory category, DiceSerie diceSerie) throws FonctionalException {
+        return scoreAndGetState(game, category, category.score(diceSerie));
+    }
+
+    /**
+     * Record the score of a category not used yet of a game, already computed by
+     * {@link YatzyCategory#score(DiceSerie)}: the roll is not scored again when the compare-and-set is retried.
+     *
+     * @param game     identifier of the game
+     * @param category the category to score
+     * @param score    the score of a dice serie for the category
+     * @return the state of the scorecard of the game right after this score; only the call scoring the last open
+     * category gets a complete scorecard.
+     * @throws FonctionalException if the category has already been used in this game.
+     * @see Scorecard#score(long, YatzyCategory, int)
+     */
+    public long scoreAndGetState(int game, YatzyCategory category, int score) throws FonctionalException {
+        checkGame(game);
+        long state;
+        long newState;
+        do {
+            state = states.get(game);
+            newState = Scorecard.score(state, category, score);
+        } while (!states.compareAndSet(game, state, newState));
+        return newState;
+    }
+
+    /**
+     * @return the current state of the scorecard of a game.
+     */
+    public long getState(int game) {
+        checkGame(game);
+        return states.get(game);
+    }
+
+    /**
+     * @return a copy of the current scorecard of a game.
+     */
+    public Scorecard getScorecard(int game) {
+        return Scorecard.fromState(getState(game));
+    }
+
+    /**
+     * Empty the scorecard of a game, to play it again.
+     */
+    public void reset(int game) {
+        checkGame(game);
+        states.set(game, 0);
+    }
+
+    public int getNbGames() {
+        return Math.min(nbGames.get(), states.length());
+    }
+
+    private void checkGame(int game) {
+        if (game < 0 || game >= getNbGames()) {
+            throw new IllegalArgumentException(format("Unknown game {0}", game));
+        }
+    }
+}
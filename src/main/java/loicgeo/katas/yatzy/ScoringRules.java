@@ -0,0 +1,142 @@
+package loicgeo.katas.yatzy;
+
+import java.util.Arrays;
+
+import static loicgeo.katas.yatzy.DiceSerie.MAX_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.MIN_DICE_VALUE;
+
+/**
+ * Scoring rules shared by the rule sets, for any number of dice.
+ * Each rule scores the number of dice of each value, as returned by {@link DiceSerie#getNbOccurrenciesByValue()}.
+ */
+public final class ScoringRules {
+
+    private ScoringRules() {
+    }
+
+    // sum all dice by value
+    public static RuleSet.ScoringRule sumOf(int value) {
+        return counts -> value * counts[value];
+    }
+
+    // sum all values
+    public static RuleSet.ScoringRule chance() {
+        return ScoringRules::sum;
+    }
+
+    // a fixed score when all dice have the same value
+    public static RuleSet.ScoringRule allSame(int score) {
+        return counts -> {
+            for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+                if (counts[value] > 0) {
+                    return counts[value] == nbDice(counts) ? score : 0;
+                }
+            }
+            return 0;
+        };
+    }
+
+    // sum values for the best value having nbOccurrences occurrences, counting only nbOccurrences dice
+    public static RuleSet.ScoringRule ofAKind(int nbOccurrences) {
+        return counts -> scoreValues(counts, new int[]{nbOccurrences});
+    }
+
+    // sum values for the best nbPairs pairs of different values
+    public static RuleSet.ScoringRule pairs(int nbPairs) {
+        int[] pairs = new int[nbPairs];
+        Arrays.fill(pairs, 2);
+        return counts -> scoreValues(counts, pairs);
+    }
+
+    // sum values for the best sets of different values, of the given number of occurrences, in this order
+    public static RuleSet.ScoringRule sets(int... nbOccurrences) {
+        int[] sets = nbOccurrences.clone();
+        return counts -> scoreValues(counts, sets);
+    }
+
+    // sum all values when a value has nbOccurrences occurrences
+    public static RuleSet.ScoringRule sumIfOfAKind(int nbOccurrences) {
+        return counts -> scoreValues(counts, new int[]{nbOccurrences}) > 0 ? sum(counts) : 0;
+    }
+
+    // a fixed score for exactly 3 dice of a value and 2 dice of another one
+    public static RuleSet.ScoringRule fullHouse(int score) {
+        return counts -> {
+            boolean three = false;
+            boolean two = false;
+            for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+                three |= counts[value] == 3;
+                two |= counts[value] == 2;
+            }
+            return three && two ? score : 0;
+        };
+    }
+
+    // a fixed score when all the values from firstValue to lastValue are present
+    public static RuleSet.ScoringRule straight(int firstValue, int lastValue, int score) {
+        return counts -> {
+            for (int value = firstValue; value <= lastValue; value++) {
+                if (counts[value] == 0) {
+                    return 0;
+                }
+            }
+            return score;
+        };
+    }
+
+    // a fixed score for a sequence of consecutive values of at least a length, starting by any value
+    public static RuleSet.ScoringRule sequenceOf(int length, int score) {
+        return counts -> {
+            int currentLength = 0;
+            for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+                currentLength = counts[value] > 0 ? currentLength + 1 : 0;
+                if (currentLength >= length) {
+                    return score;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static int sum(int[] counts) {
+        int sum = 0;
+        for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+            sum += value * counts[value];
+        }
+        return sum;
+    }
+
+    private static int nbDice(int[] counts) {
+        int nbDice = 0;
+        for (int value = MIN_DICE_VALUE; value <= MAX_DICE_VALUE; value++) {
+            nbDice += counts[value];
+        }
+        return nbDice;
+    }
+
+    /**
+     * Score the best sets of different values: each set is a value having at least its number of occurrences, and
+     * scores this number of times the value.
+     *
+     * @return the sum of the sets, or 0 if they are not all found.
+     */
+    private static int scoreValues(int[] counts, int[] nbOccurrences) {
+        return scoreValues(counts, nbOccurrences, 0, 0);
+    }
+
+    private static int scoreValues(int[] counts, int[] nbOccurrences, int set, int usedValues) {
+        if (set == nbOccurrences.length) {
+            return 0;
+        }
+        int best = 0;
+        for (int value = MAX_DICE_VALUE; value >= MIN_DICE_VALUE; value--) {
+            if ((usedValues & 1 << value) == 0 && counts[value] >= nbOccurrences[set]) {
+                int others = scoreValues(counts, nbOccurrences, set + 1, usedValues | 1 << value);
+                if (others > 0 || set + 1 == nbOccurrences.length) {
+                    best = Math.max(best, value * nbOccurrences[set] + others);
+                }
+            }
+        }
+        return best;
+    }
+}
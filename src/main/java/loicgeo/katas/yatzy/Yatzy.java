@@ -2,14 +2,31 @@ package loicgeo.katas.yatzy;
 
 import loicgeo.katas.yatzy.exception.FonctionalException;
 
-import java.util.logging.Level;
+import java.util.Optional;
 import java.util.logging.Logger;
 
-public class Yatzy {
+/**
+ * A roll to score.
+ * <p>
+ * A Yatzy is immutable, its dice serie being final and immutable: it can be shared between threads without
+ * synchronization.
+ */
+public final class Yatzy {
 
     private static final Logger LOGGER = Logger.getLogger(Yatzy.class.getName());
 
-    private DiceSerie diceSerie;
+    private static volatile InvalidRollLogging invalidRollLogging = InvalidRollLogging.fromSystemProperty(LOGGER);
+
+    // canonical instances of every ordered roll
+    private static final Yatzy[] ORDERED_ROLLS = new Yatzy[RollIndex.NB_ORDERED_ROLLS];
+
+    static {
+        for (int orderedRoll = 0; orderedRoll < RollIndex.NB_ORDERED_ROLLS; orderedRoll++) {
+            ORDERED_ROLLS[orderedRoll] = new Yatzy(DiceSerie.ofOrderedRoll(orderedRoll));
+        }
+    }
+
+    private final DiceSerie diceSerie;
 
     /**
      * Instantiation a Yatzy dice serie.
@@ -27,15 +44,136 @@ public class Yatzy {
         try {
             diceSerie = new DiceSerie(d1, d2, d3, d4, d5);
         } catch (FonctionalException exception) {
-            LOGGER.log(Level.SEVERE, "Unable to instantiate Yatzy", exception);
+            if (YatzyMetrics.ENABLED) {
+                YatzyMetrics.invalidRoll();
+            }
+            invalidRollLogging.log(LOGGER, exception);
+            throw exception;
+        }
+    }
+
+    private Yatzy(DiceSerie diceSerie) {
+        this.diceSerie = diceSerie;
+    }
+
+    /**
+     * Get a Yatzy dice serie. Unlike the constructor, no instance is created: the Yatzy of all the possible rolls are
+     * preallocated, and shared.
+     *
+     * @param d1 number value for dice #1
+     * @param d2 number value for dice #2
+     * @param d3 number value for dice #3
+     * @param d4 number value for dice #4
+     * @param d5 number value for dice #5
+     * @return the canonical Yatzy of these values.
+     * @throws FonctionalException in case of invalid dice serie. See details on {@link DiceSerie}.
+     * @see DiceSerie#of(int, int, int, int, int)
+     */
+    public static Yatzy of(int d1, int d2, int d3, int d4, int d5) throws FonctionalException {
+        try {
+            return ORDERED_ROLLS[DiceSerie.of(d1, d2, d3, d4, d5).getOrderedRoll()];
+        } catch (FonctionalException exception) {
+            if (YatzyMetrics.ENABLED) {
+                YatzyMetrics.invalidRoll();
+            }
+            invalidRollLogging.log(LOGGER, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Get a Yatzy dice serie, without exception nor logging for an invalid dice serie.
+     *
+     * @param d1 number value for dice #1
+     * @param d2 number value for dice #2
+     * @param d3 number value for dice #3
+     * @param d4 number value for dice #4
+     * @param d5 number value for dice #5
+     * @return the canonical Yatzy of these values, or an empty optional in case of invalid dice serie.
+     * @see DiceSerie#isValid(int, int, int, int, int)
+     */
+    public static Optional<Yatzy> tryOf(int d1, int d2, int d3, int d4, int d5) {
+        if (!DiceSerie.isValid(d1, d2, d3, d4, d5)) {
+            return Optional.empty();
+        }
+        return Optional.of(ORDERED_ROLLS[RollIndex.orderedIndex(d1, d2, d3, d4, d5)]);
+    }
+
+    /**
+     * Re-roll the dice not held, as in a turn of play. Like {@link #of(int, int, int, int, int)}, no instance is
+     * created, and the new Yatzy is found in constant time. Only a not allowed new value is logged and counted as an
+     * invalid roll: a wrong number of new values is an error of the caller.
+     *
+     * @param holdMask  bit mask of the held dice, bit i standing for dice #i+1
+     * @param newValues new values of the dice not held, in the order of the dice
+     * @return the canonical Yatzy of the values after the re-roll.
+     * @throws FonctionalException      in case of invalid dice serie, or if the number of new values is not the number
+     *                                  of dice not held.
+     * @throws IllegalArgumentException if the hold mask has bits set out of the 5 lowest ones.
+     * @see DiceSerie#reroll(int, int...)
+     */
+    public Yatzy reroll(int holdMask, int... newValues) throws FonctionalException {
+        try {
+            return ORDERED_ROLLS[diceSerie.reroll(holdMask, newValues).getOrderedRoll()];
+        } catch (FonctionalException exception) {
+            if (newValues.length == DiceSerie.NB_DICE - Integer.bitCount(holdMask)) {
+                if (YatzyMetrics.ENABLED) {
+                    YatzyMetrics.invalidRoll();
+                }
+                invalidRollLogging.log(LOGGER, exception);
+            }
             throw exception;
         }
     }
 
+    /**
+     * Set how invalid dice series given to the constructor or to {@link #of(int, int, int, int, int)} are logged.
+     * By default, it is set by the system property {@value InvalidRollLogging#PROPERTY}, or each one is logged.
+     *
+     * The invalid dice series counted by the previous logging, but not logged yet, are logged first.
+     *
+     * @param logging the way to log invalid dice series
+     */
+    public static void setInvalidRollLogging(InvalidRollLogging logging) {
+        InvalidRollLogging previousLogging = invalidRollLogging;
+        invalidRollLogging = logging;
+        previousLogging.flush(LOGGER);
+    }
+
+    /**
+     * Log the invalid dice series counted but not logged yet, as {@link InvalidRollLogging#AGGREGATED} logs them at
+     * most once per minute. To call before stopping, so that the last ones are not lost.
+     */
+    public static void flushInvalidRollLogging() {
+        invalidRollLogging.flush(LOGGER);
+    }
+
+    /**
+     * @param category a category
+     * @return the score of the roll in the category, read from the precomputed scores, see
+     * {@link YatzyCategory#score(DiceSerie)}: a single table lookup, cheaper than any cache of the scores per Yatzy.
+     */
     public int scoreRoll(YatzyCategory category) {
         return category.score(diceSerie);
     }
 
+    /**
+     * @return the category of the best score for this dice serie.
+     * @see YatzyCategory#best(DiceSerie)
+     */
+    public YatzyCategory bestCategory() {
+        return YatzyCategory.best(diceSerie);
+    }
+
+    /**
+     * @param openCategories bit mask of the categories to choose from, see {@link YatzyCategory#mask()}
+     * @return the category of the best score for this dice serie, among the open ones.
+     * @see YatzyCategory#best(DiceSerie, int)
+     */
+    public YatzyCategory bestCategory(int openCategories) {
+        return YatzyCategory.best(diceSerie, openCategories);
+    }
+
 }
 
 
@@ -1,13 +1,18 @@
 package loicgeo.katas.yatzy;
 
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
 import java.util.function.ToIntFunction;
 
+import static java.text.MessageFormat.format;
+import static loicgeo.katas.yatzy.DiceSerie.MAX_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.MIN_DICE_VALUE;
 import static loicgeo.katas.yatzy.YatzyCategory.DefaultScores.*;
 
 public enum YatzyCategory {
 
     // sum all values
-    CHANCE(dices -> dices.getValues().stream().reduce(0, Integer::sum)),
+    CHANCE(DiceSerie::getSum),
 
     // only one distinct value
     YATZY(dices -> dices.isComposedOfOnlyOneKindOfValue() ? SCORE_YATZY.getScore() : 0),
@@ -31,9 +36,9 @@ public enum YatzyCategory {
     FOUR_Of_A_KIND(dices -> scoreValues(dices, 4, 1)),
 
     // sum values for a small straight, meaning composed of a continuous sequence of at least 4 values, starting by 1
-    SMALL_STRAIGHT(dices -> dices.getValuesAsString("").contains("12345") ? SCORE_SMALL_STRAIGHT.getScore() : 0),
+    SMALL_STRAIGHT(dices -> dices.containsSequence(1, 5) ? SCORE_SMALL_STRAIGHT.getScore() : 0),
     // sum values for a large straight, meaning composed of a continuous sequence of at least 4 values, finishing by 6
-    LARGE_STRAIGHT(dices -> dices.getValuesAsString("").contains("23456") ? SCORE_LARGE_STRAIGHT.getScore() : 0),
+    LARGE_STRAIGHT(dices -> dices.containsSequence(2, 6) ? SCORE_LARGE_STRAIGHT.getScore() : 0),
 
     // sum values for a set of 3 values X and a couple of values Y, where X is different of Y
     FULL_HOUSE(dices -> {
@@ -44,16 +49,139 @@ public enum YatzyCategory {
                 + scoreValues(dices, 2, 1);
     });
 
+    /**
+     * Bit mask of all the categories.
+     *
+     * @see #mask()
+     */
+    public static final int ALL_CATEGORIES = (1 << values().length) - 1;
+
+    /**
+     * Bit mask of the categories of the upper section, from ONES to SIXES.
+     *
+     * @see #mask()
+     */
+    public static final int UPPER_SECTION = maskOf(ONES, TWOS, THREES, FOURS, FIVES, SIXES);
+
     private final ToIntFunction<DiceSerie> scoringFunction;
 
     YatzyCategory(ToIntFunction<DiceSerie> scoringFunction) {
         this.scoringFunction = scoringFunction;
     }
 
+    /**
+     * Score a dice serie, from the precomputed scores of all the distinct rolls.
+     * The scoring is counted when the {@link YatzyMetrics} are enabled.
+     *
+     * @param diceSerie a set of dice values
+     * @return the score of the dice serie for this category
+     */
     public int score(DiceSerie diceSerie) {
+        if (YatzyMetrics.ENABLED) {
+            return YatzyMetrics.score(this, diceSerie.getRollIndex());
+        }
+        return ScoreTable.score(this, diceSerie.getRollIndex());
+    }
+
+    /**
+     * @return the bit of this category in a bit mask of categories, bit i standing for the category of ordinal i.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public boolean isUpperSection() {
+        return (UPPER_SECTION & mask()) != 0;
+    }
+
+    /**
+     * @param categories some categories
+     * @return the bit mask of these categories.
+     * @see #mask()
+     */
+    public static int maskOf(YatzyCategory... categories) {
+        int mask = 0;
+        for (YatzyCategory category : categories) {
+            mask |= category.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Choose the category of the best score for a dice serie.
+     *
+     * @param diceSerie a set of dice values
+     * @return the category of the best score, the first one in order for a same score.
+     */
+    public static YatzyCategory best(DiceSerie diceSerie) {
+        return ScoreTable.bestCategory(diceSerie.getRollIndex(), ALL_CATEGORIES);
+    }
+
+    /**
+     * Choose the category of the best score for a dice serie, among the categories still open.
+     *
+     * @param diceSerie      a set of dice values
+     * @param openCategories bit mask of the categories to choose from, see {@link #mask()}
+     * @return the category of the best score among the open ones, the first one in order for a same score.
+     * @throws IllegalArgumentException if no category is open.
+     */
+    public static YatzyCategory best(DiceSerie diceSerie, int openCategories) {
+        YatzyCategory best = ScoreTable.bestCategory(diceSerie.getRollIndex(), openCategories);
+        if (best == null) {
+            throw new IllegalArgumentException(format("No open category in mask {0}", Integer.toBinaryString(openCategories)));
+        }
+        return best;
+    }
+
+    /**
+     * Score a dice serie by applying the scoring rule of this category.
+     * This rule is the reference used to compute the precomputed scores of {@link #score(DiceSerie)}.
+     *
+     * @param diceSerie a set of dice values
+     * @return the score of the dice serie for this category
+     */
+    public int referenceScore(DiceSerie diceSerie) {
         return scoringFunction.applyAsInt(diceSerie);
     }
 
+    /**
+     * Score consecutive rolls for this category, in a single call.
+     * For example, values {@code {1, 1, 3, 3, 6, 4, 5, 5, 6, 1}} are 2 rolls `1, 1, 3, 3, 6` and `4, 5, 5, 6, 1`.
+     *
+     * @param values dice values, 5 per roll
+     * @param scores filled with the score of each roll, must have one entry per roll
+     * @throws FonctionalException in case of not allowed values, before any roll is scored.
+     */
+    public void scoreAll(byte[] values, int[] scores) throws FonctionalException {
+        scoreAll(values, new YatzyCategory[]{this}, scores);
+    }
+
+    /**
+     * Score consecutive rolls for several categories, in a single call.
+     * The scores are stored roll by roll: {@code scores[roll * categories.length + c]} is the score of the roll for
+     * {@code categories[c]}.
+     * On Java 17 or later, with the module {@code jdk.incubator.vector} added to the JVM, several rolls are scored at
+     * once with the Vector API.
+     * The scorings are counted, and the call timed, when the {@link YatzyMetrics} are enabled.
+     *
+     * @param values     dice values, 5 per roll
+     * @param categories categories to score each roll for
+     * @param scores     filled with the scores, must have {@code categories.length} entries per roll
+     * @throws FonctionalException in case of not allowed values, before any roll is scored.
+     */
+    public static void scoreAll(byte[] values, YatzyCategory[] categories, int[] scores) throws FonctionalException {
+        DiceSerie.validateValues(values);
+        int expectedNbScores = values.length / DiceSerie.NB_DICE * categories.length;
+        if (scores.length < expectedNbScores) {
+            throw new IllegalArgumentException(format("{0} scores are expected, only {1} can be stored", expectedNbScores, scores.length));
+        }
+        if (YatzyMetrics.ENABLED) {
+            YatzyMetrics.scoreAll(values, categories, scores);
+        } else {
+            BatchScorer.scoreAll(values, categories, scores);
+        }
+    }
+
     /**
      * Score a dice serie according:
      * <li>the number of occurrences for a value</li>
@@ -65,12 +193,10 @@ public enum YatzyCategory {
      * @return
      */
     private static int scoreValues(DiceSerie diceSerie, final int havingNbOccurrencesForAValue, final int nbTimesIntheSerie) {
-        int[] countsByValue = diceSerie.getNbOccurrenciesByValue();
-
         int score = 0;
         int nbMatchs = 0;
-        for (int currentValue = countsByValue.length - 1; currentValue > 0; currentValue--) {
-            int nbOccurrencesOfCurrentValue = countsByValue[currentValue];
+        for (int currentValue = MAX_DICE_VALUE; currentValue >= MIN_DICE_VALUE; currentValue--) {
+            int nbOccurrencesOfCurrentValue = diceSerie.getNbOccurrencies(currentValue);
             if (nbOccurrencesOfCurrentValue >= havingNbOccurrencesForAValue) {
                 nbMatchs++;
                 score += currentValue * Math.min(nbOccurrencesOfCurrentValue, havingNbOccurrencesForAValue);
@@ -82,16 +208,15 @@ public enum YatzyCategory {
         return nbTimesIntheSerie == nbMatchs ? score : 0;
     }
 
-    private static Integer sumByDiceValue(DiceSerie diceSerie, int value) {
-        return diceSerie.getValues().stream()
-                .filter(v -> v == value)
-                .reduce(0, Integer::sum);
+    private static int sumByDiceValue(DiceSerie diceSerie, int value) {
+        return value * diceSerie.getNbOccurrencies(value);
     }
 
     protected enum DefaultScores {
         SCORE_YATZY(50),
         SCORE_SMALL_STRAIGHT(15),
-        SCORE_LARGE_STRAIGHT(20);
+        SCORE_LARGE_STRAIGHT(20),
+        SCORE_UPPER_SECTION_BONUS(50);
 
         private int score;
 
@@ -0,0 +1,181 @@
+package loicgeo.katas.yatzy;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Counters of the scoring and of the invalid rolls, with a histogram of the latencies of the batch scorings.
+ * <p>
+ * The metrics are disabled by default, and enabled by the system property {@value #PROPERTY} set to true. As
+ * {@link #ENABLED} is a constant, the JIT compiler removes the instrumentation from the scoring path when the metrics
+ * are disabled: they cost nothing then. When enabled, the counters are {@link LongAdder}s, so that concurrent scorings
+ * do not contend on a same field.
+ * <p>
+ * Each roll scored, alone or by {@link YatzyCategory#scoreAll(byte[], YatzyCategory[], int[])}, is counted in its
+ * category. A single scoring is a table lookup, too short to be timed: only the batch scorings are timed, each call
+ * being recorded in the histogram.
+ * <p>
+ * The metrics are exposed through JMX, as the MXBean {@value #OBJECT_NAME}.
+ */
+public final class YatzyMetrics implements YatzyMetricsMXBean {
+
+    public static final String PROPERTY = "loicgeo.katas.yatzy.metrics";
+
+    public static final String OBJECT_NAME = "loicgeo.katas.yatzy:type=YatzyMetrics";
+
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final Logger LOGGER = Logger.getLogger(YatzyMetrics.class.getName());
+
+    private static final int NB_LATENCY_BUCKETS = Long.SIZE;
+
+    private static final YatzyMetrics INSTANCE = new YatzyMetrics();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException exception) {
+                LOGGER.log(Level.WARNING, "Unable to register the Yatzy metrics", exception);
+            }
+        }
+    }
+
+    private final LongAdder[] scoreCounts = new LongAdder[YatzyCategory.values().length];
+    private final LongAdder invalidRollCount = new LongAdder();
+    private final AtomicLongArray batchScoreLatencies = new AtomicLongArray(NB_LATENCY_BUCKETS);
+
+    YatzyMetrics() {
+        for (int category = 0; category < scoreCounts.length; category++) {
+            scoreCounts[category] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return the metrics of this JVM, collected only when {@link #isEnabled()}.
+     */
+    public static YatzyMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Score a roll, counting it. Only called when the metrics are enabled.
+     */
+    static int score(YatzyCategory category, int rollIndex) {
+        INSTANCE.recordScore(category);
+        return ScoreTable.score(category, rollIndex);
+    }
+
+    /**
+     * Score consecutive rolls for several categories, counting them and timing the whole call.
+     * Only called when the metrics are enabled.
+     */
+    static void scoreAll(byte[] values, YatzyCategory[] categories, int[] scores) {
+        long start = System.nanoTime();
+        BatchScorer.scoreAll(values, categories, scores);
+        INSTANCE.recordBatchScore(categories, values.length / DiceSerie.NB_DICE, System.nanoTime() - start);
+    }
+
+    /**
+     * Only called when the metrics are enabled.
+     */
+    static void invalidRoll() {
+        INSTANCE.recordInvalidRoll();
+    }
+
+    void recordScore(YatzyCategory category) {
+        scoreCounts[category.ordinal()].increment();
+    }
+
+    void recordBatchScore(YatzyCategory[] categories, int nbRolls, long latencyInNanos) {
+        for (YatzyCategory category : categories) {
+            scoreCounts[category.ordinal()].add(nbRolls);
+        }
+        int bucket = NB_LATENCY_BUCKETS - 1 - Long.numberOfLeadingZeros(Math.max(latencyInNanos, 1));
+        batchScoreLatencies.incrementAndGet(bucket);
+    }
+
+    void recordInvalidRoll() {
+        invalidRollCount.increment();
+    }
+
+    @Override
+    public Map<String, Long> getScoreCountByCategory() {
+        Map<String, Long> countByCategory = new LinkedHashMap<>();
+        for (YatzyCategory category : YatzyCategory.values()) {
+            countByCategory.put(category.name(), scoreCounts[category.ordinal()].sum());
+        }
+        return countByCategory;
+    }
+
+    public long getScoreCount(YatzyCategory category) {
+        return scoreCounts[category.ordinal()].sum();
+    }
+
+    @Override
+    public long getInvalidRollCount() {
+        return invalidRollCount.sum();
+    }
+
+    @Override
+    public long getBatchScoreCount() {
+        long count = 0;
+        for (int bucket = 0; bucket < NB_LATENCY_BUCKETS; bucket++) {
+            count += batchScoreLatencies.get(bucket);
+        }
+        return count;
+    }
+
+    @Override
+    public long[] getBatchScoreLatencyHistogram() {
+        long[] histogram = new long[NB_LATENCY_BUCKETS];
+        for (int bucket = 0; bucket < NB_LATENCY_BUCKETS; bucket++) {
+            histogram[bucket] = batchScoreLatencies.get(bucket);
+        }
+        return histogram;
+    }
+
+    @Override
+    public long getBatchScoreLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("A percentile is expected between 0 and 100: " + percentile);
+        }
+        long[] histogram = getBatchScoreLatencyHistogram();
+        long count = 0;
+        for (long bucketCount : histogram) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long cumulatedCount = 0;
+        int bucket = 0;
+        while (cumulatedCount + histogram[bucket] < rank) {
+            cumulatedCount += histogram[bucket++];
+        }
+        return bucket == NB_LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : (2L << bucket) - 1;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder scoreCount : scoreCounts) {
+            scoreCount.reset();
+        }
+        invalidRollCount.reset();
+        for (int bucket = 0; bucket < NB_LATENCY_BUCKETS; bucket++) {
+            batchScoreLatencies.set(bucket, 0);
+        }
+    }
+}
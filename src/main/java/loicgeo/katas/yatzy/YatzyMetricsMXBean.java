@@ -0,0 +1,40 @@
+package loicgeo.katas.yatzy;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link YatzyMetrics}, registered as {@value YatzyMetrics#OBJECT_NAME}.
+ */
+public interface YatzyMetricsMXBean {
+
+    /**
+     * @return the number of dice series scored, alone or in batch, by name of category.
+     */
+    Map<String, Long> getScoreCountByCategory();
+
+    /**
+     * @return the number of invalid rolls given to {@link Yatzy}.
+     */
+    long getInvalidRollCount();
+
+    /**
+     * @return the number of batch scorings, each call of {@link YatzyCategory#scoreAll(byte[], YatzyCategory[], int[])}
+     * being one.
+     */
+    long getBatchScoreCount();
+
+    /**
+     * @return the latencies of the batch scorings: entry i counts the latencies from 2^i to 2^(i+1) - 1 nanoseconds,
+     * the first one counting the latencies of 0 and 1 nanosecond.
+     */
+    long[] getBatchScoreLatencyHistogram();
+
+    /**
+     * @param percentile a percentile, from 0 to 100
+     * @return the upper bound, in nanoseconds, of the histogram bucket holding this percentile of the batch scoring
+     * latencies, 0 if there has been no batch scoring.
+     */
+    long getBatchScoreLatencyPercentile(double percentile);
+
+    void reset();
+}
@@ -0,0 +1,147 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import static java.text.MessageFormat.format;
+import static loicgeo.katas.yatzy.RerollTransitions.*;
+import static loicgeo.katas.yatzy.RollIndex.NB_DICE;
+import static loicgeo.katas.yatzy.RollIndex.NB_DISTINCT_ROLLS;
+
+/**
+ * Odds of each category, from some held dice and the number of rolls left in the turn: the probability of a non-zero
+ * score, and the expected score, each one when holding the dice maximizing it at each reroll.
+ * <p>
+ * The odds of all the categories are computed once, backward from the last roll, over the 252 distinct rolls and the
+ * 462 multisets of held dice, like the turns of {@link YatzySolver}. The odds of a multiset of held dice and a number
+ * of rolls left are then cached, and shared between threads: a YatzyOdds is immutable.
+ */
+public final class YatzyOdds {
+
+    /**
+     * Maximum number of rolls left in a turn: the first roll and its rerolls.
+     */
+    public static final int MAX_ROLLS_LEFT = YatzySolver.NB_REROLLS + 1;
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+
+    // probability of a non-zero score and expected score, by category, rolls left and held dice
+    private static final double[][][] PROBABILITIES = new double[CATEGORIES.length][MAX_ROLLS_LEFT + 1][];
+    private static final double[][][] EXPECTED_SCORES = new double[CATEGORIES.length][MAX_ROLLS_LEFT + 1][];
+
+    // odds by rolls left and held dice, created on first use; racy creation only builds equal immutable instances
+    private static final YatzyOdds[][] CACHE = new YatzyOdds[MAX_ROLLS_LEFT + 1][NB_KEPT];
+
+    static {
+        for (YatzyCategory category : CATEGORIES) {
+            double[] rollProbabilities = new double[NB_DISTINCT_ROLLS];
+            double[] rollScores = new double[NB_DISTINCT_ROLLS];
+            for (int roll = 0; roll < NB_DISTINCT_ROLLS; roll++) {
+                int score = ScoreTable.score(category, roll);
+                rollProbabilities[roll] = score > 0 ? 1 : 0;
+                rollScores[roll] = score;
+            }
+            PROBABILITIES[category.ordinal()][0] = heldValues(rollProbabilities);
+            EXPECTED_SCORES[category.ordinal()][0] = heldValues(rollScores);
+            for (int rollsLeft = 1; rollsLeft <= MAX_ROLLS_LEFT; rollsLeft++) {
+                double[] keptProbabilities = new double[NB_KEPT];
+                double[] keptScores = new double[NB_KEPT];
+                expectKept(rollProbabilities, keptProbabilities);
+                expectKept(rollScores, keptScores);
+                PROBABILITIES[category.ordinal()][rollsLeft] = keptProbabilities;
+                EXPECTED_SCORES[category.ordinal()][rollsLeft] = keptScores;
+                chooseKept(keptProbabilities, rollProbabilities);
+                chooseKept(keptScores, rollScores);
+            }
+        }
+    }
+
+    private final double[] probabilities = new double[CATEGORIES.length];
+    private final double[] expectedScores = new double[CATEGORIES.length];
+
+    private YatzyOdds(int kept, int rollsLeft) {
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            probabilities[category] = PROBABILITIES[category][rollsLeft][kept];
+            expectedScores[category] = EXPECTED_SCORES[category][rollsLeft][kept];
+        }
+    }
+
+    /**
+     * Get the odds of each category from some held dice.
+     *
+     * @param heldValues values of the held dice, from none to all the dice; all the dice have to be held without roll
+     *                   left
+     * @param rollsLeft  number of rolls left for the dice not held, from 0 to {@value #MAX_ROLLS_LEFT}
+     * @return the odds of each category.
+     * @throws FonctionalException in case of not allowed value, or of too many dice held.
+     */
+    public static YatzyOdds of(int[] heldValues, int rollsLeft) throws FonctionalException {
+        if (heldValues.length > NB_DICE) {
+            throw new FonctionalException(format("At most {0} dice can be held: {1}", NB_DICE, heldValues.length));
+        }
+        for (int value : heldValues) {
+            if (value < DiceSerie.MIN_DICE_VALUE || value > DiceSerie.MAX_DICE_VALUE) {
+                throw new FonctionalException(format("Wrong held value: {0}", value));
+            }
+        }
+        return of(keptIndex(packedCounts(heldValues)), rollsLeft);
+    }
+
+    /**
+     * Get the odds of each category from some dice of a roll.
+     *
+     * @param diceSerie the current roll
+     * @param holdMask  the bit mask of the held dice, bit i standing for dice #i+1, like {@link YatzySolver#bestHold}
+     * @param rollsLeft number of rolls left for the dice not held, from 0 to {@value #MAX_ROLLS_LEFT}
+     * @return the odds of each category.
+     */
+    public static YatzyOdds of(DiceSerie diceSerie, int holdMask, int rollsLeft) {
+        int keptCounts = 0;
+        for (int dice = 0; dice < NB_DICE; dice++) {
+            if ((holdMask & 1 << dice) != 0) {
+                keptCounts = withValue(keptCounts, diceSerie.getValue(dice));
+            }
+        }
+        return of(keptIndex(keptCounts), rollsLeft);
+    }
+
+    private static YatzyOdds of(int kept, int rollsLeft) {
+        if (rollsLeft < 0 || rollsLeft > MAX_ROLLS_LEFT) {
+            throw new IllegalArgumentException("Rolls left must be between 0 and " + MAX_ROLLS_LEFT);
+        }
+        if (rollsLeft == 0 && size(keptCounts(kept)) < NB_DICE) {
+            throw new IllegalArgumentException("All the dice must be held without roll left");
+        }
+        YatzyOdds odds = CACHE[rollsLeft][kept];
+        if (odds == null) {
+            odds = new YatzyOdds(kept, rollsLeft);
+            CACHE[rollsLeft][kept] = odds;
+        }
+        return odds;
+    }
+
+    // values of the dice held without roll left: the values of the rolls, when all the dice are held
+    private static double[] heldValues(double[] rollValues) {
+        double[] keptValues = new double[NB_KEPT];
+        for (int roll = 0; roll < NB_DISTINCT_ROLLS; roll++) {
+            keptValues[keptIndex(rollCounts(roll))] = rollValues[roll];
+        }
+        return keptValues;
+    }
+
+    /**
+     * @param category a category
+     * @return the probability of a non-zero score in the category, holding the dice maximizing it.
+     */
+    public double getProbability(YatzyCategory category) {
+        return probabilities[category.ordinal()];
+    }
+
+    /**
+     * @param category a category
+     * @return the expected score in the category, holding the dice maximizing it.
+     */
+    public double getExpectedScore(YatzyCategory category) {
+        return expectedScores[category.ordinal()];
+    }
+
+}
@@ -0,0 +1,348 @@
+package loicgeo.katas.yatzy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+import static java.text.MessageFormat.format;
+
+import static loicgeo.katas.yatzy.RerollTransitions.*;
+import static loicgeo.katas.yatzy.RollIndex.NB_DICE;
+import static loicgeo.katas.yatzy.RollIndex.NB_DISTINCT_ROLLS;
+import static loicgeo.katas.yatzy.Scorecard.UPPER_SECTION_BONUS_THRESHOLD;
+import static loicgeo.katas.yatzy.YatzyCategory.ALL_CATEGORIES;
+import static loicgeo.katas.yatzy.YatzyCategory.DefaultScores.SCORE_UPPER_SECTION_BONUS;
+
+/**
+ * Optimal strategy of a single player game, maximizing the expected final score.
+ * <p>
+ * A turn starts with a scorecard state: the used categories, and the upper section total, capped to the bonus
+ * threshold as only reaching it matters. The expected score of the rest of the game from each state is computed
+ * once, then memoized:
+ * <li>lazily, computing the states reachable from the queried one</li>
+ * <li>or all at once with {@link #solveAll()}, in parallel across the states of a same number of used categories</li>
+ * A turn is evaluated backward from its last roll, over the 252 distinct rolls and the 462 multisets of kept dice.
+ * <p>
+ * Once all computed, the expected scores can be saved to a file, then memory-mapped by another solver instead of
+ * being computed again. The file starts with a header:
+ * <li>the magic number {@code YTZS} and the format version, on 4 bytes each</li>
+ * <li>the fingerprint of the scoring rules on 8 bytes, see {@link #rulesFingerprint()}</li>
+ * <li>the number of states on 4 bytes</li>
+ * followed by the expected score of each state, as a float, all in little-endian order.
+ */
+public final class YatzySolver {
+
+    /**
+     * Number of rerolls of a turn, after its first roll.
+     */
+    public static final int NB_REROLLS = 2;
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+    private static final int NB_UPPER_TOTALS = UPPER_SECTION_BONUS_THRESHOLD + 1;
+    private static final int NB_STATES = (ALL_CATEGORIES + 1) * NB_UPPER_TOTALS;
+    private static final int MAX_CACHED_TURNS = 4096;
+
+    private static final int MAGIC_NUMBER = 0x59545A53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+
+    // expected score of the rest of the game, by state, NaN until computed; read only when mapped from a file
+    private final FloatBuffer expectedScores;
+    private final Map<Integer, Turn> turns = new ConcurrentHashMap<>();
+
+    public YatzySolver() {
+        float[] scores = new float[NB_STATES];
+        Arrays.fill(scores, Float.NaN);
+        expectedScores = FloatBuffer.wrap(scores);
+    }
+
+    private YatzySolver(FloatBuffer expectedScores) {
+        this.expectedScores = expectedScores;
+    }
+
+    /**
+     * Get a solver reading the expected scores from a file saved by {@link #save(Path)}, mapped in memory.
+     *
+     * @param file a file of expected scores
+     * @return the solver of this file.
+     * @throws IOException if the file cannot be read, or was saved for other scoring rules or another format.
+     */
+    public static YatzySolver load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long expectedSize = HEADER_SIZE + (long) NB_STATES * Float.BYTES;
+            if (channel.size() != expectedSize) {
+                throw new IOException(format("Invalid strategy file {0}: {1} bytes instead of {2}", file, channel.size(), expectedSize));
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getLong() != rulesFingerprint() || buffer.getInt() != NB_STATES) {
+                throw new IOException(format("Outdated strategy file {0}: saved for another format or other scoring rules", file));
+            }
+            return new YatzySolver(buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
+        }
+    }
+
+    /**
+     * Get a solver reading the expected scores from a file; if the file is missing or outdated, all the expected
+     * scores are computed, then saved to the file.
+     *
+     * @param file a file of expected scores
+     * @return the solver of this file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static YatzySolver loadOrSolve(Path file) throws IOException {
+        if (Files.isRegularFile(file)) {
+            try {
+                return load(file);
+            } catch (IOException exception) {
+                // outdated or corrupted, solved again below
+            }
+        }
+        YatzySolver solver = new YatzySolver();
+        solver.solveAll();
+        solver.save(file);
+        return load(file);
+    }
+
+    /**
+     * Save the expected scores to a file. The states not computed yet, see {@link #solveAll()}, are saved as such, and
+     * will be computed at each query by the solvers loading the file.
+     * The file is written next to its target, then moved, so that a mapped file is never modified.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + NB_STATES * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC_NUMBER)
+                .putInt(FORMAT_VERSION)
+                .putLong(rulesFingerprint())
+                .putInt(NB_STATES);
+        for (int state = 0; state < NB_STATES; state++) {
+            buffer.putFloat(expectedScores.get(state));
+        }
+        buffer.flip();
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Compute the expected scores of all the states, using all the available processors.
+     */
+    public void solveAll() {
+        if (expectedScores.isReadOnly()) {
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            for (int nbUsedCategories = CATEGORIES.length; nbUsedCategories >= 0; nbUsedCategories--) {
+                final int level = nbUsedCategories;
+                pool.submit(() -> IntStream.rangeClosed(0, ALL_CATEGORIES)
+                        .parallel()
+                        .filter(usedCategories -> Integer.bitCount(usedCategories) == level)
+                        .forEach(usedCategories -> {
+                            for (int upperTotal = 0; upperTotal <= maxUpperTotal(usedCategories); upperTotal++) {
+                                expectedScore(state(usedCategories, upperTotal));
+                            }
+                        }))
+                        .get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @param scorecard the scorecard at the start of a turn
+     * @return the expected final score of the game, playing the optimal strategy.
+     */
+    public double expectedFinalScore(Scorecard scorecard) {
+        return scorecard.getTotal() + expectedScore(state(scorecard));
+    }
+
+    /**
+     * Choose the dice to hold before a reroll.
+     *
+     * @param scorecard   the scorecard of the current turn
+     * @param diceSerie   the current roll
+     * @param rerollsLeft number of rerolls left in the turn, 1 or 2
+     * @return the bit mask of the dice to hold, bit i standing for dice #i+1; all the dice are held when the best
+     * choice is to stop rolling.
+     */
+    public int bestHold(Scorecard scorecard, DiceSerie diceSerie, int rerollsLeft) {
+        if (rerollsLeft < 1 || rerollsLeft > NB_REROLLS) {
+            throw new IllegalArgumentException("Rerolls left must be between 1 and " + NB_REROLLS);
+        }
+        Turn turn = turn(state(scorecard));
+        int keptCounts = keptCounts(bestKept(turn.keptValues[rerollsLeft - 1], diceSerie.getRollIndex()));
+
+        int holdMask = 0;
+        for (int dice = 0; dice < NB_DICE; dice++) {
+            int value = diceSerie.getValue(dice);
+            if (count(keptCounts, value) > 0) {
+                keptCounts = withoutValue(keptCounts, value);
+                holdMask |= 1 << dice;
+            }
+        }
+        return holdMask;
+    }
+
+    /**
+     * Choose the category to score the last roll of a turn in.
+     *
+     * @param scorecard the scorecard of the current turn
+     * @param diceSerie the last roll
+     * @return the open category maximizing the expected final score.
+     */
+    public YatzyCategory bestCategory(Scorecard scorecard, DiceSerie diceSerie) {
+        int state = state(scorecard);
+        YatzyCategory bestCategory = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (YatzyCategory category : CATEGORIES) {
+            if ((usedCategories(state) & category.mask()) == 0) {
+                double value = categoryValue(state, category, diceSerie.getRollIndex());
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestCategory = category;
+                }
+            }
+        }
+        if (bestCategory == null) {
+            throw new IllegalArgumentException("No open category: the game is complete");
+        }
+        return bestCategory;
+    }
+
+    /**
+     * @return a checksum of the scores of the categories and of the upper section bonus rule.
+     */
+    private static long rulesFingerprint() {
+        CRC32 checksum = new CRC32();
+        checksum.update(ByteBuffer.allocate(Long.BYTES + 2 * Integer.BYTES)
+                .putLong(ScoreTable.fingerprint())
+                .putInt(UPPER_SECTION_BONUS_THRESHOLD)
+                .putInt(SCORE_UPPER_SECTION_BONUS.getScore())
+                .array());
+        return checksum.getValue();
+    }
+
+    private static int state(Scorecard scorecard) {
+        return state(scorecard.getUsedCategories(), Math.min(scorecard.getUpperSectionTotal(), UPPER_SECTION_BONUS_THRESHOLD));
+    }
+
+    private static int state(int usedCategories, int upperTotal) {
+        return usedCategories * NB_UPPER_TOTALS + upperTotal;
+    }
+
+    private static int usedCategories(int state) {
+        return state / NB_UPPER_TOTALS;
+    }
+
+    private static int upperTotal(int state) {
+        return state % NB_UPPER_TOTALS;
+    }
+
+    // upper section total that can be reached with the used categories, capped to the bonus threshold
+    private static int maxUpperTotal(int usedCategories) {
+        int maxUpperTotal = 0;
+        for (int value = 1; value <= RollIndex.NB_FACES; value++) {
+            if ((usedCategories & CATEGORIES[YatzyCategory.ONES.ordinal() + value - 1].mask()) != 0) {
+                maxUpperTotal += NB_DICE * value;
+            }
+        }
+        return Math.min(maxUpperTotal, UPPER_SECTION_BONUS_THRESHOLD);
+    }
+
+    private double expectedScore(int state) {
+        float expectedScore = expectedScores.get(state);
+        if (Float.isNaN(expectedScore)) {
+            expectedScore = usedCategories(state) == ALL_CATEGORIES ? 0 : (float) new Turn(state).expectedScore;
+            if (!expectedScores.isReadOnly()) {
+                expectedScores.put(state, expectedScore);
+            }
+        }
+        return expectedScore;
+    }
+
+    // score of a roll in a category, plus the expected score of the rest of the game
+    private double categoryValue(int state, YatzyCategory category, int roll) {
+        int score = ScoreTable.score(category, roll);
+        int upperTotal = upperTotal(state);
+        int nextUpperTotal = upperTotal;
+        if (category.isUpperSection()) {
+            nextUpperTotal = Math.min(upperTotal + score, UPPER_SECTION_BONUS_THRESHOLD);
+            if (upperTotal < UPPER_SECTION_BONUS_THRESHOLD && nextUpperTotal == UPPER_SECTION_BONUS_THRESHOLD) {
+                score += SCORE_UPPER_SECTION_BONUS.getScore();
+            }
+        }
+        return score + expectedScore(state(usedCategories(state) | category.mask(), nextUpperTotal));
+    }
+
+    // turns of the hint queries are cached, unlike the ones only needed to compute expected scores
+    private Turn turn(int state) {
+        Turn turn = turns.get(state);
+        if (turn == null) {
+            turn = new Turn(state);
+            if (turns.size() >= MAX_CACHED_TURNS) {
+                turns.clear();
+            }
+            turns.put(state, turn);
+        }
+        return turn;
+    }
+
+    /**
+     * Values of a turn: keptValues[n] is the expected score of each kept dice when n rerolls will be left after
+     * rerolling the other dice.
+     */
+    private final class Turn {
+        private final double[][] keptValues = new double[NB_REROLLS][NB_KEPT];
+        private final double expectedScore;
+
+        private Turn(int state) {
+            double[] rollValues = new double[NB_DISTINCT_ROLLS];
+            for (int roll = 0; roll < NB_DISTINCT_ROLLS; roll++) {
+                double bestValue = Double.NEGATIVE_INFINITY;
+                for (YatzyCategory category : CATEGORIES) {
+                    if ((usedCategories(state) & category.mask()) == 0) {
+                        bestValue = Math.max(bestValue, categoryValue(state, category, roll));
+                    }
+                }
+                rollValues[roll] = bestValue;
+            }
+            for (int rerollsLeft = 0; rerollsLeft < NB_REROLLS; rerollsLeft++) {
+                expectKept(rollValues, keptValues[rerollsLeft]);
+                chooseKept(keptValues[rerollsLeft], rollValues);
+            }
+            double expectedScore = 0;
+            for (int outcome = OUTCOMES_START[NOTHING_KEPT]; outcome < OUTCOMES_START[NOTHING_KEPT + 1]; outcome++) {
+                expectedScore += OUTCOME_PROBABILITIES[outcome] * rollValues[OUTCOME_ROLLS[outcome]];
+            }
+            this.expectedScore = expectedScore;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package loicgeo.katas.yatzy.game;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.*;
+import static java.text.MessageFormat.format;
+
+/**
+ * Append-only journal of the scores of {@link MultiplayerGame}s, to restore games from their last snapshot.
+ * <p>
+ * Each score is an event of {@value #EVENT_SIZE} bytes, in little-endian order: the identifier of the game on 8
+ * bytes, the turn of the score on 2 bytes, the values of the roll on 2 bytes, see {@link DiceSerie#getPackedValues()},
+ * and the ordinal of the category on 1 byte. Events are buffered, and written to the file when the buffer is full, on
+ * {@link #flush()} and on {@link #close()} only: a crash loses the events buffered since, up to {@value #BUFFERED_EVENTS}
+ * scores. Room is made in the buffer before a game is changed, so that a game is never scored without its event.
+ * <p>
+ * Replaying the journal on restored games applies the events of turns not played yet in each game, in the order of
+ * the journal: a game snapshot taken at any time, then the whole journal, give the game as it was at the last event.
+ */
+public final class GameJournal implements Closeable {
+
+    static final int EVENT_SIZE = 13;
+    static final int BUFFERED_EVENTS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFERED_EVENTS * EVENT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private GameJournal(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Open a journal to append events to, created if missing.
+     *
+     * @throws IOException if the file cannot be opened.
+     */
+    public static GameJournal open(Path file) throws IOException {
+        return new GameJournal(FileChannel.open(file, CREATE, WRITE, APPEND));
+    }
+
+    /**
+     * Score the current roll of a game, then append the score to the journal.
+     *
+     * @param game     a game
+     * @param category a category not used yet by the current player
+     * @return the score of the roll in the category.
+     * @throws FonctionalException if the roll cannot be scored, see {@link MultiplayerGame#score(YatzyCategory)};
+     *                             nothing is appended then.
+     * @throws IOException         if the buffer is full and its events cannot be written; the game is not scored then.
+     */
+    public int score(MultiplayerGame game, YatzyCategory category) throws FonctionalException, IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        int turn = game.getTurn();
+        DiceSerie roll = game.getCurrentRoll();
+        int score = game.score(category);
+        buffer.putLong(game.getId())
+                .putShort((short) turn)
+                .putShort((short) roll.getPackedValues())
+                .put((byte) category.ordinal());
+        return score;
+    }
+
+    /**
+     * Write the buffered events to the file.
+     *
+     * @throws IOException if the events cannot be written; the events not written yet stay buffered.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.compact();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Apply the events of a journal to games, skipping the events of other games and of turns already played.
+     *
+     * @param file  a journal
+     * @param games the games to update, by identifier
+     * @return the number of events applied.
+     * @throws IOException if the file cannot be read, or holds an event not applicable to its game.
+     */
+    public static int replay(Path file, Map<Long, MultiplayerGame> games) throws IOException {
+        int nbAppliedEvents = 0;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            if (channel.size() % EVENT_SIZE != 0) {
+                throw new IOException(format("Truncated journal {0}: {1} bytes", file, channel.size()));
+            }
+            ByteBuffer events = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (events.hasRemaining()) {
+                MultiplayerGame game = games.get(events.getLong());
+                int turn = events.getShort() & 0xFFFF;
+                int packedValues = events.getShort() & 0xFFFF;
+                int category = events.get();
+                if (game != null && turn == game.getTurn()) {
+                    apply(game, packedValues, category);
+                    nbAppliedEvents++;
+                }
+            }
+        } catch (FonctionalException exception) {
+            throw new IOException(format("Corrupted journal {0}", file), exception);
+        }
+        return nbAppliedEvents;
+    }
+
+    private static void apply(MultiplayerGame game, int packedValues, int category) throws FonctionalException {
+        if (category < 0 || category >= YatzyCategory.values().length) {
+            throw new FonctionalException(format("Wrong category ordinal {0}", category));
+        }
+        game.setLastRoll(DiceSerie.ofPackedValues(packedValues));
+        game.score(YatzyCategory.values()[category]);
+    }
+}
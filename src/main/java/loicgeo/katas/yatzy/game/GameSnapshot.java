@@ -0,0 +1,218 @@
+package loicgeo.katas.yatzy.game;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static java.text.MessageFormat.format;
+import static loicgeo.katas.yatzy.game.GameSnapshots.*;
+
+/**
+ * Read-only view of the snapshot of a {@link MultiplayerGame} in a buffer, see {@link GameSnapshots} for its format.
+ * <p>
+ * Nothing is copied: each getter reads its field in place, so that games can be inspected without being restored.
+ * The view is only valid as long as the content of the buffer is not changed.
+ */
+public final class GameSnapshot {
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    // buffer starting at the snapshot, in little-endian order; its header, scorecards and player names are checked, so
+    // that a corrupted snapshot is rejected here rather than failing on restore
+    GameSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(MAGIC_OFFSET) != MAGIC_NUMBER) {
+            throw new IllegalArgumentException("No game snapshot in the buffer");
+        }
+        if (buffer.get(VERSION_OFFSET) != FORMAT_VERSION) {
+            throw new IllegalArgumentException(format("Unknown game snapshot version {0}", buffer.get(VERSION_OFFSET)));
+        }
+        int nbPlayers = getNbPlayers();
+        if (nbPlayers < 1 || nbPlayers > MultiplayerGame.MAX_PLAYERS
+                || getCurrentPlayer() < 0 || getCurrentPlayer() >= nbPlayers
+                || getRollCount() < 0 || getRollCount() > MultiplayerGame.MAX_ROLLS) {
+            throw new IllegalArgumentException(format(
+                    "Corrupted game snapshot: {0} player(s), current player {1}, {2} roll(s)",
+                    nbPlayers, getCurrentPlayer(), getRollCount()));
+        }
+        if ((getRollCount() == 0) != (getCurrentRoll() == null)) {
+            throw new IllegalArgumentException(
+                    format("Corrupted game snapshot: current roll for {0} roll(s)", getRollCount()));
+        }
+        try {
+            size = namesEnd();
+        } catch (IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("Truncated game snapshot", exception);
+        }
+        if (buffer.remaining() < size) {
+            throw new IllegalArgumentException("Truncated game snapshot");
+        }
+        checkScorecards(nbPlayers);
+    }
+
+    public long getId() {
+        return buffer.getLong(ID_OFFSET);
+    }
+
+    public int getNbPlayers() {
+        return buffer.get(NB_PLAYERS_OFFSET);
+    }
+
+    public int getCurrentPlayer() {
+        return buffer.get(CURRENT_PLAYER_OFFSET);
+    }
+
+    public int getRollCount() {
+        return buffer.get(ROLL_COUNT_OFFSET);
+    }
+
+    /**
+     * @return the current roll, null if the dice have not been rolled yet in the current turn.
+     */
+    public DiceSerie getCurrentRoll() {
+        int packedValues = buffer.getShort(CURRENT_ROLL_OFFSET) & 0xFFFF;
+        if (packedValues == NO_ROLL) {
+            return null;
+        }
+        try {
+            return DiceSerie.ofPackedValues(packedValues);
+        } catch (FonctionalException exception) {
+            throw new IllegalArgumentException("Corrupted game snapshot", exception);
+        }
+    }
+
+    /**
+     * @return the state of the scorecard of a player, see {@link Scorecard#getState()}.
+     */
+    public long getScorecardState(int player) {
+        return buffer.getLong(playerOffset(player));
+    }
+
+    public int getTotal(int player) {
+        return Scorecard.total(getScorecardState(player));
+    }
+
+    /**
+     * @return the score of a player in a category, 0 if the category is not used yet.
+     */
+    public int getScore(int player, YatzyCategory category) {
+        return buffer.get(playerOffset(player) + Long.BYTES + category.ordinal());
+    }
+
+    /**
+     * @return the name of a player, decoded at each call.
+     */
+    public String getPlayer(int player) {
+        int offset = namesOffset(getNbPlayers());
+        for (int previousPlayer = 0; previousPlayer < player; previousPlayer++) {
+            offset += Short.BYTES + buffer.getShort(offset);
+        }
+        byte[] name = new byte[buffer.getShort(offset)];
+        for (int index = 0; index < name.length; index++) {
+            name[index] = buffer.get(offset + Short.BYTES + index);
+        }
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the size of the snapshot, in bytes.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    private int namesEnd() {
+        int nbPlayers = getNbPlayers();
+        int offset = namesOffset(nbPlayers);
+        for (int player = 0; player < nbPlayers; player++) {
+            int nameLength = buffer.getShort(offset);
+            if (nameLength < 0) {
+                throw new IllegalArgumentException(
+                        format("Corrupted game snapshot: name of player {0} of {1} bytes", player, nameLength));
+            }
+            offset += Short.BYTES + nameLength;
+        }
+        return offset;
+    }
+
+    // each scorecard matches the scores of its categories, and the players have played in turn up to the current one
+    private void checkScorecards(int nbPlayers) {
+        int turn = 0;
+        for (int player = 0; player < nbPlayers; player++) {
+            turn += checkScorecard(player);
+        }
+        if (getCurrentPlayer() != turn % nbPlayers) {
+            throw new IllegalArgumentException(
+                    format("Corrupted game snapshot: current player {0} after {1} turn(s)", getCurrentPlayer(), turn));
+        }
+        for (int player = 0; player < nbPlayers; player++) {
+            int expectedUsedCategories = turn / nbPlayers + (player < turn % nbPlayers ? 1 : 0);
+            if (Integer.bitCount(Scorecard.usedCategories(getScorecardState(player))) != expectedUsedCategories) {
+                throw new IllegalArgumentException(
+                        format("Corrupted game snapshot: player {0} out of turn after {1} turn(s)", player, turn));
+            }
+        }
+    }
+
+    // the number of categories used by the player
+    private int checkScorecard(int player) {
+        long state = getScorecardState(player);
+        if (!Scorecard.isPossibleState(state)) {
+            throw new IllegalArgumentException(format("Corrupted game snapshot: scorecard of player {0}", player));
+        }
+        int upperSectionTotal = 0;
+        int lowerSectionTotal = 0;
+        for (YatzyCategory category : YatzyCategory.values()) {
+            int score = getScore(player, category);
+            if (score < 0 || score > Scorecard.MAX_CATEGORY_SCORE || score != 0 && !Scorecard.isUsed(state, category)) {
+                throw new IllegalArgumentException(
+                        format("Corrupted game snapshot: score {0} of player {1} in {2}", score, player, category));
+            }
+            if (category.isUpperSection()) {
+                upperSectionTotal += score;
+            } else {
+                lowerSectionTotal += score;
+            }
+        }
+        if (upperSectionTotal != Scorecard.upperSectionTotal(state)
+                || lowerSectionTotal != Scorecard.lowerSectionTotal(state)) {
+            throw new IllegalArgumentException(
+                    format("Corrupted game snapshot: totals of player {0} not matching its scores", player));
+        }
+        return Integer.bitCount(Scorecard.usedCategories(state));
+    }
+
+    /**
+     * @return a game in the state of the snapshot.
+     */
+    public MultiplayerGame restore() {
+        int nbPlayers = getNbPlayers();
+        String[] players = new String[nbPlayers];
+        long[] scorecardStates = new long[nbPlayers];
+        byte[] categoryScores = new byte[nbPlayers * NB_CATEGORIES];
+        for (int player = 0; player < nbPlayers; player++) {
+            players[player] = getPlayer(player);
+            scorecardStates[player] = getScorecardState(player);
+            for (int category = 0; category < NB_CATEGORIES; category++) {
+                categoryScores[player * NB_CATEGORIES + category] =
+                        buffer.get(playerOffset(player) + Long.BYTES + category);
+            }
+        }
+        return new MultiplayerGame(getId(), players, scorecardStates, categoryScores,
+                getCurrentPlayer(), getRollCount(), getCurrentRoll());
+    }
+
+    private static int playerOffset(int player) {
+        return HEADER_SIZE + player * PLAYER_SIZE;
+    }
+
+    static ByteBuffer littleEndianSlice(ByteBuffer buffer) {
+        return buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
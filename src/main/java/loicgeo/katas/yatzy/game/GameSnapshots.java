@@ -0,0 +1,158 @@
+package loicgeo.katas.yatzy.game;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Compact binary snapshots of {@link MultiplayerGame}s.
+ * <p>
+ * A snapshot holds, in little-endian order:
+ * <li>the magic number {@code YTZG} on 4 bytes, the format version, the number of players, the current player and the
+ * number of rolls of the current turn, on 1 byte each</li>
+ * <li>the identifier of the game, on 8 bytes</li>
+ * <li>the values of the current roll on 2 bytes, see {@link DiceSerie#getPackedValues()}, 0 before the first roll</li>
+ * <li>for each player, the state of its scorecard on 8 bytes, then its score in each category on 1 byte</li>
+ * <li>for each player, its name in UTF-8, preceded by its length on 2 bytes</li>
+ * A game of 4 players is then saved on less than 150 bytes. A file of snapshots is the sequence of the snapshots of
+ * its games: it is mapped in memory to read them, through {@link GameSnapshot} views.
+ */
+public final class GameSnapshots {
+
+    static final int MAGIC_NUMBER = 0x59545A47;
+    static final byte FORMAT_VERSION = 1;
+    static final int NO_ROLL = 0;
+    static final int NB_CATEGORIES = YatzyCategory.values().length;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int NB_PLAYERS_OFFSET = 5;
+    static final int CURRENT_PLAYER_OFFSET = 6;
+    static final int ROLL_COUNT_OFFSET = 7;
+    static final int ID_OFFSET = 8;
+    static final int CURRENT_ROLL_OFFSET = 16;
+    static final int HEADER_SIZE = 18;
+    static final int PLAYER_SIZE = Long.BYTES + NB_CATEGORIES;
+
+    private GameSnapshots() {
+    }
+
+    static int namesOffset(int nbPlayers) {
+        return HEADER_SIZE + nbPlayers * PLAYER_SIZE;
+    }
+
+    /**
+     * @return the size of the snapshot of a game, in bytes.
+     */
+    public static int size(MultiplayerGame game) {
+        int size = namesOffset(game.getNbPlayers());
+        for (int player = 0; player < game.getNbPlayers(); player++) {
+            size += Short.BYTES + game.getPlayer(player).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+
+    /**
+     * Write the snapshot of a game at the position of a buffer, then move the position after it.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining bytes.
+     */
+    public static void write(MultiplayerGame game, ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            DiceSerie currentRoll = game.getCurrentRoll();
+            buffer.putInt(MAGIC_NUMBER)
+                    .put(FORMAT_VERSION)
+                    .put((byte) game.getNbPlayers())
+                    .put((byte) game.getCurrentPlayer())
+                    .put((byte) game.getRollCount())
+                    .putLong(game.getId())
+                    .putShort((short) (currentRoll == null ? NO_ROLL : currentRoll.getPackedValues()));
+            for (int player = 0; player < game.getNbPlayers(); player++) {
+                buffer.putLong(game.getScorecardState(player));
+                for (YatzyCategory category : YatzyCategory.values()) {
+                    buffer.put((byte) game.getScore(player, category));
+                }
+            }
+            for (int player = 0; player < game.getNbPlayers(); player++) {
+                byte[] name = game.getPlayer(player).getBytes(StandardCharsets.UTF_8);
+                buffer.putShort((short) name.length).put(name);
+            }
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Read the snapshot at the position of a buffer, then move the position after it.
+     *
+     * @return a view of the snapshot, reading the buffer in place.
+     * @throws IllegalArgumentException if there is no complete snapshot at the position of the buffer.
+     */
+    public static GameSnapshot read(ByteBuffer buffer) {
+        GameSnapshot snapshot = new GameSnapshot(GameSnapshot.littleEndianSlice(buffer));
+        buffer.position(buffer.position() + snapshot.getSize());
+        return snapshot;
+    }
+
+    /**
+     * Save the snapshots of games to a file, written next to its target then moved, so that a mapped file is never
+     * modified.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(Collection<MultiplayerGame> games, Path file) throws IOException {
+        int size = 0;
+        for (MultiplayerGame game : games) {
+            size += size(game);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        for (MultiplayerGame game : games) {
+            write(game, buffer);
+        }
+        buffer.flip();
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Map a file of snapshots in memory.
+     *
+     * @return a view of each snapshot of the file, in their order.
+     * @throws IOException if the file cannot be read, or is not a file of snapshots.
+     */
+    public static List<GameSnapshot> load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<GameSnapshot> snapshots = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                try {
+                    snapshots.add(read(buffer));
+                } catch (IllegalArgumentException exception) {
+                    throw new IOException("Invalid snapshot file " + file + " at byte " + buffer.position(), exception);
+                }
+            }
+            return snapshots;
+        }
+    }
+}
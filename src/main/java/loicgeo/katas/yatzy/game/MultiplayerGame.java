@@ -0,0 +1,210 @@
+package loicgeo.katas.yatzy.game;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.YatzySolver;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * A game of several players, taking turns: each turn, the current player rolls the dice, re-rolls some of them up to
+ * {@value #MAX_ROLLS} rolls in all, then scores the roll in a category not used yet of its scorecard.
+ * <p>
+ * A game is not thread safe: it is meant to be played by a single thread at a time. Its state can be saved in a
+ * compact binary snapshot, see {@link GameSnapshots}, and each score recorded in a {@link GameJournal}.
+ */
+public final class MultiplayerGame {
+
+    public static final int MAX_PLAYERS = 16;
+    public static final int MAX_NAME_LENGTH = 255;
+
+    /**
+     * Maximum number of rolls of a turn: the first roll and its rerolls.
+     */
+    public static final int MAX_ROLLS = YatzySolver.NB_REROLLS + 1;
+
+    private static final int NB_CATEGORIES = YatzyCategory.values().length;
+
+    private final long id;
+    private final String[] players;
+    private final Scorecard[] scorecards;
+    // score of each category of each player, by player then by category ordinal
+    private final byte[] categoryScores;
+    private int currentPlayer;
+    private int rollCount;
+    private DiceSerie currentRoll;
+
+    /**
+     * Start a game.
+     *
+     * @param id      identifier of the game
+     * @param players names of the players, in their order of play
+     */
+    public MultiplayerGame(long id, String... players) {
+        if (players.length < 1 || players.length > MAX_PLAYERS) {
+            throw new IllegalArgumentException(format("A game is played by 1 to {0} players: {1}", MAX_PLAYERS, players.length));
+        }
+        for (String player : players) {
+            if (player.length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException(format("A player name has at most {0} characters: {1}", MAX_NAME_LENGTH, player));
+            }
+        }
+        this.id = id;
+        this.players = players.clone();
+        this.scorecards = new Scorecard[players.length];
+        for (int player = 0; player < players.length; player++) {
+            scorecards[player] = new Scorecard();
+        }
+        this.categoryScores = new byte[players.length * NB_CATEGORIES];
+    }
+
+    // restore a game from a snapshot
+    MultiplayerGame(long id, String[] players, long[] scorecardStates, byte[] categoryScores, int currentPlayer, int rollCount, DiceSerie currentRoll) {
+        this(id, players);
+        for (int player = 0; player < players.length; player++) {
+            scorecards[player] = Scorecard.fromState(scorecardStates[player]);
+        }
+        System.arraycopy(categoryScores, 0, this.categoryScores, 0, categoryScores.length);
+        this.currentPlayer = currentPlayer;
+        this.rollCount = rollCount;
+        this.currentRoll = currentRoll;
+    }
+
+    /**
+     * First roll of the turn of the current player.
+     *
+     * @param diceSerie the values of the dice
+     * @throws FonctionalException if the dice have already been rolled in this turn, or if the game is complete.
+     */
+    public void roll(DiceSerie diceSerie) throws FonctionalException {
+        checkNotComplete();
+        if (rollCount > 0) {
+            throw new FonctionalException(format("The dice have already been rolled {0} time(s) in this turn", rollCount));
+        }
+        currentRoll = diceSerie;
+        rollCount = 1;
+    }
+
+    /**
+     * Re-roll the dice not held.
+     *
+     * @param holdMask  bit mask of the held dice, bit i standing for dice #i+1
+     * @param newValues new values of the dice not held, in the order of the dice
+     * @return the roll after the re-roll.
+     * @throws FonctionalException if the dice have not been rolled yet, or if all the rolls of the turn have been
+     *                             done, or in case of wrong new values, see {@link DiceSerie#reroll(int, int...)}.
+     */
+    public DiceSerie reroll(int holdMask, int... newValues) throws FonctionalException {
+        checkRolled();
+        if (rollCount == MAX_ROLLS) {
+            throw new FonctionalException(format("The dice have already been rolled {0} times in this turn", MAX_ROLLS));
+        }
+        currentRoll = currentRoll.reroll(holdMask, newValues);
+        rollCount++;
+        return currentRoll;
+    }
+
+    /**
+     * Score the current roll in a category of the current player, and end its turn.
+     *
+     * @param category a category not used yet by the current player
+     * @return the score of the roll in the category.
+     * @throws FonctionalException if the dice have not been rolled yet, or if the category has already been used.
+     */
+    public int score(YatzyCategory category) throws FonctionalException {
+        checkRolled();
+        int score = scorecards[currentPlayer].score(category, currentRoll);
+        categoryScores[currentPlayer * NB_CATEGORIES + category.ordinal()] = (byte) score;
+        currentPlayer = (currentPlayer + 1) % players.length;
+        rollCount = 0;
+        currentRoll = null;
+        return score;
+    }
+
+    // replay of a journal: the roll scored at the end of the turn, whatever the rolls before
+    void setLastRoll(DiceSerie diceSerie) throws FonctionalException {
+        checkNotComplete();
+        currentRoll = diceSerie;
+        rollCount = Math.max(rollCount, 1);
+    }
+
+    private void checkRolled() throws FonctionalException {
+        if (rollCount == 0) {
+            throw new FonctionalException("The dice have not been rolled yet in this turn");
+        }
+    }
+
+    private void checkNotComplete() throws FonctionalException {
+        if (isComplete()) {
+            throw new FonctionalException(format("Game {0} is complete", id));
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getNbPlayers() {
+        return players.length;
+    }
+
+    public String getPlayer(int player) {
+        return players[player];
+    }
+
+    /**
+     * @return the index of the player of the current turn, from 0 for the first player.
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * @return the number of rolls done in the current turn, from 0 to {@value #MAX_ROLLS}.
+     */
+    public int getRollCount() {
+        return rollCount;
+    }
+
+    /**
+     * @return the current roll, null if the dice have not been rolled yet in this turn.
+     */
+    public DiceSerie getCurrentRoll() {
+        return currentRoll;
+    }
+
+    /**
+     * @return the number of turns completed, all players together.
+     */
+    public int getTurn() {
+        int turn = 0;
+        for (Scorecard scorecard : scorecards) {
+            turn += Integer.bitCount(scorecard.getUsedCategories());
+        }
+        return turn;
+    }
+
+    /**
+     * @return a copy of the scorecard of a player.
+     */
+    public Scorecard getScorecard(int player) {
+        return Scorecard.fromState(scorecards[player].getState());
+    }
+
+    /**
+     * @return the score of a player in a category, 0 if the category is not used yet.
+     */
+    public int getScore(int player, YatzyCategory category) {
+        return categoryScores[player * NB_CATEGORIES + category.ordinal()];
+    }
+
+    public boolean isComplete() {
+        return scorecards[players.length - 1].isComplete();
+    }
+
+    long getScorecardState(int player) {
+        return scorecards[player].getState();
+    }
+}
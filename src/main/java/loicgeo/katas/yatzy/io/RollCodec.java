@@ -0,0 +1,136 @@
+package loicgeo.katas.yatzy.io;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Compact binary encodings of dice series, in the byte order of the buffers.
+ */
+public enum RollCodec {
+
+    // 2 bytes per roll: the values on 3 bits per dice, dice #1 on the lowest bits, see DiceSerie.getPackedValues
+    ORDERED(Short.BYTES) {
+        @Override
+        public void encode(DiceSerie diceSerie, ByteBuffer buffer) {
+            buffer.putShort((short) diceSerie.getPackedValues());
+        }
+
+        @Override
+        public DiceSerie decode(ByteBuffer buffer) throws FonctionalException {
+            return DiceSerie.ofPackedValues(buffer.getShort() & 0xFFFF);
+        }
+    },
+
+    // 1 byte per roll: the index of the distinct roll, the order of the values being lost, see DiceSerie.getRollIndex
+    DISTINCT(Byte.BYTES) {
+        @Override
+        public void encode(DiceSerie diceSerie, ByteBuffer buffer) {
+            buffer.put((byte) diceSerie.getRollIndex());
+        }
+
+        @Override
+        public DiceSerie decode(ByteBuffer buffer) throws FonctionalException {
+            return DiceSerie.ofRollIndex(buffer.get() & 0xFF);
+        }
+    };
+
+    private final int bytesPerRoll;
+
+    RollCodec(int bytesPerRoll) {
+        this.bytesPerRoll = bytesPerRoll;
+    }
+
+    public int getBytesPerRoll() {
+        return bytesPerRoll;
+    }
+
+    /**
+     * Write a dice serie at the position of a buffer.
+     */
+    public abstract void encode(DiceSerie diceSerie, ByteBuffer buffer);
+
+    /**
+     * Read a dice serie at the position of a buffer.
+     *
+     * @return the canonical dice serie read.
+     * @throws FonctionalException in case of bytes not encoding a dice serie.
+     */
+    public abstract DiceSerie decode(ByteBuffer buffer) throws FonctionalException;
+
+    /**
+     * Write consecutive dice series at the position of a buffer.
+     *
+     * @throws BufferOverflowException if the buffer has not enough remaining bytes, nothing being written.
+     */
+    public void encodeAll(DiceSerie[] diceSeries, int offset, int length, ByteBuffer buffer) {
+        checkRemaining(buffer, length);
+        for (int roll = offset; roll < offset + length; roll++) {
+            encode(diceSeries[roll], buffer);
+        }
+    }
+
+    /**
+     * Read consecutive dice series at the position of a buffer, as many as the array can hold or as the buffer
+     * has remaining.
+     *
+     * @return the number of dice series read.
+     * @throws FonctionalException in case of bytes not encoding a dice serie.
+     */
+    public int decodeAll(ByteBuffer buffer, DiceSerie[] diceSeries, int offset, int length) throws FonctionalException {
+        int nbRolls = Math.min(length, buffer.remaining() / bytesPerRoll);
+        for (int roll = offset; roll < offset + nbRolls; roll++) {
+            diceSeries[roll] = decode(buffer);
+        }
+        return nbRolls;
+    }
+
+    /**
+     * Write consecutive rolls, given as 5 values per roll as scored by
+     * {@link loicgeo.katas.yatzy.YatzyCategory#scoreAll(byte[], int[])}, at the position of a buffer. All the values
+     * are checked before any roll is written.
+     *
+     * @throws FonctionalException      in case of not allowed values, nothing being written.
+     * @throws IllegalArgumentException if the number of values is not a multiple of {@value DiceSerie#NB_DICE}.
+     * @throws BufferOverflowException  if the buffer has not enough remaining bytes, nothing being written.
+     */
+    public void encodeAll(byte[] values, ByteBuffer buffer) throws FonctionalException {
+        if (values.length % DiceSerie.NB_DICE != 0) {
+            throw new IllegalArgumentException(format("{0} values are not a number of rolls of {1} dice",
+                    values.length, DiceSerie.NB_DICE));
+        }
+        DiceSerie[] diceSeries = new DiceSerie[values.length / DiceSerie.NB_DICE];
+        for (int roll = 0, offset = 0; roll < diceSeries.length; roll++, offset += DiceSerie.NB_DICE) {
+            diceSeries[roll] = DiceSerie.of(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]);
+        }
+        encodeAll(diceSeries, 0, diceSeries.length, buffer);
+    }
+
+    /**
+     * Read consecutive rolls at the position of a buffer into 5 values per roll, as many as the array can hold or as
+     * the buffer has remaining.
+     *
+     * @return the number of rolls read.
+     * @throws FonctionalException in case of bytes not encoding a dice serie.
+     */
+    public int decodeAll(ByteBuffer buffer, byte[] values) throws FonctionalException {
+        int nbRolls = Math.min(values.length / DiceSerie.NB_DICE, buffer.remaining() / bytesPerRoll);
+        for (int offset = 0; offset < nbRolls * DiceSerie.NB_DICE; offset += DiceSerie.NB_DICE) {
+            DiceSerie diceSerie = decode(buffer);
+            for (int dice = 0; dice < DiceSerie.NB_DICE; dice++) {
+                values[offset + dice] = (byte) diceSerie.getValue(dice);
+            }
+        }
+        return nbRolls;
+    }
+
+    private void checkRemaining(ByteBuffer buffer, int nbRolls) {
+        if (buffer.remaining() < nbRolls * bytesPerRoll) {
+            throw new BufferOverflowException();
+        }
+    }
+}
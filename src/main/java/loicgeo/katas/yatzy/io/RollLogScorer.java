@@ -0,0 +1,170 @@
+package loicgeo.katas.yatzy.io;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static loicgeo.katas.yatzy.DiceSerie.MAX_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.MIN_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.NB_DICE;
+
+/**
+ * Score the rolls of a log, one roll per line such as `1,1,3,3,6` or `4 ,5, 5,6,1`, without creating any String.
+ * <p>
+ * Bytes are parsed as they are read, from a channel or from a file mapped in memory segment by segment. Valid rolls
+ * are buffered, then scored by batch with {@link YatzyCategory#scoreAll(byte[], YatzyCategory[], int[])}; lines not
+ * made of 5 dice values are counted as invalid. Memory use does not depend on the size of the log.
+ * <p>
+ * A scorer keeps the state of the parsing between two reads: it is not thread-safe.
+ */
+public final class RollLogScorer {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final long MAPPED_SEGMENT_SIZE = 64L * 1024 * 1024;
+    private static final int NO_VALUE = -1;
+
+    private final RollLogStatistics statistics;
+    private final YatzyCategory[] categories;
+    private final byte[] rolls = new byte[BATCH_SIZE * NB_DICE];
+    private final int[] scores;
+    private int nbBufferedRolls;
+
+    // parsing of the current line
+    private final int[] lineValues = new int[NB_DICE];
+    private int nbLineValues;
+    private int currentValue = NO_VALUE;
+    private boolean invalidLine;
+    private boolean emptyLine = true;
+
+    /**
+     * @param statistics the statistics to update with the scores of the rolls
+     */
+    public RollLogScorer(RollLogStatistics statistics) {
+        this.statistics = statistics;
+        this.categories = statistics.categories();
+        this.scores = new int[BATCH_SIZE * categories.length];
+    }
+
+    /**
+     * Read a channel up to its end, and score its rolls.
+     *
+     * @return the updated statistics.
+     * @throws IOException if the channel cannot be read.
+     */
+    public RollLogStatistics score(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            parse(buffer);
+            buffer.clear();
+        }
+        return finish();
+    }
+
+    /**
+     * Map a file in memory, and score its rolls.
+     *
+     * @return the updated statistics.
+     * @throws IOException if the file cannot be read.
+     */
+    public RollLogStatistics score(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAPPED_SEGMENT_SIZE) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_SEGMENT_SIZE, size - position));
+                parse(segment);
+            }
+        }
+        return finish();
+    }
+
+    private void parse(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte character = buffer.get();
+            if (character >= '0' && character <= '9') {
+                emptyLine = false;
+                // values beyond the maximum are all invalid, they are capped not to overflow
+                currentValue = currentValue == NO_VALUE ? character - '0' : Math.min(currentValue * 10 + character - '0', MAX_DICE_VALUE + 1);
+                if (currentValue > MAX_DICE_VALUE) {
+                    invalidLine = true;
+                }
+            } else if (character == '\n') {
+                endLine();
+            } else if (character == ',' || character == ' ' || character == '\t' || character == '\r') {
+                endValue();
+            } else {
+                emptyLine = false;
+                invalidLine = true;
+            }
+        }
+    }
+
+    private void endValue() {
+        if (currentValue == NO_VALUE) {
+            return;
+        }
+        if (currentValue < MIN_DICE_VALUE || nbLineValues == NB_DICE) {
+            invalidLine = true;
+        } else if (!invalidLine) {
+            lineValues[nbLineValues] = currentValue;
+        }
+        nbLineValues++;
+        currentValue = NO_VALUE;
+    }
+
+    private void endLine() {
+        endValue();
+        if (!emptyLine) {
+            if (invalidLine || nbLineValues != NB_DICE) {
+                statistics.addInvalidLine();
+            } else {
+                addRoll();
+            }
+        }
+        nbLineValues = 0;
+        invalidLine = false;
+        emptyLine = true;
+    }
+
+    private void addRoll() {
+        int offset = nbBufferedRolls * NB_DICE;
+        for (int dice = 0; dice < NB_DICE; dice++) {
+            rolls[offset + dice] = (byte) lineValues[dice];
+        }
+        nbBufferedRolls++;
+        if (nbBufferedRolls == BATCH_SIZE) {
+            flush(rolls);
+        }
+    }
+
+    private void flush(byte[] batch) {
+        try {
+            YatzyCategory.scoreAll(batch, categories, scores);
+        } catch (FonctionalException exception) {
+            // values are checked while parsed
+            throw new IllegalStateException(exception);
+        }
+        statistics.addScores(scores, nbBufferedRolls);
+        nbBufferedRolls = 0;
+    }
+
+    // a last line may have no line feed, and a last batch may not be full
+    private RollLogStatistics finish() {
+        endLine();
+        if (nbBufferedRolls > 0) {
+            byte[] lastBatch = new byte[nbBufferedRolls * DiceSerie.NB_DICE];
+            System.arraycopy(rolls, 0, lastBatch, 0, lastBatch.length);
+            flush(lastBatch);
+        }
+        return statistics;
+    }
+}
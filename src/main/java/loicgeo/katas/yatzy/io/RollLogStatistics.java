@@ -0,0 +1,103 @@
+package loicgeo.katas.yatzy.io;
+
+import loicgeo.katas.yatzy.YatzyCategory;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated scores of the rolls of a log, for some categories: number, total, minimum, maximum and distribution of
+ * the scores. Statistics are updated incrementally while the log is read, in constant memory.
+ */
+public final class RollLogStatistics {
+
+    private static final int MAX_SCORE = 50;
+
+    private final YatzyCategory[] categories;
+    private final long[] totals;
+    private final int[] minimums;
+    private final int[] maximums;
+    private final long[][] histograms;
+    private long nbRolls;
+    private long nbInvalidLines;
+
+    /**
+     * @param categories the categories to aggregate the scores of
+     */
+    public RollLogStatistics(YatzyCategory... categories) {
+        this.categories = categories.clone();
+        totals = new long[categories.length];
+        minimums = new int[categories.length];
+        maximums = new int[categories.length];
+        histograms = new long[categories.length][MAX_SCORE + 1];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+    }
+
+    YatzyCategory[] categories() {
+        return categories;
+    }
+
+    /**
+     * @param scores  scores of consecutive rolls, one per category, in the order of the categories
+     * @param nbRolls number of rolls
+     */
+    void addScores(int[] scores, int nbRolls) {
+        int nbCategories = categories.length;
+        for (int roll = 0; roll < nbRolls; roll++) {
+            for (int category = 0; category < nbCategories; category++) {
+                int score = scores[roll * nbCategories + category];
+                totals[category] += score;
+                minimums[category] = Math.min(minimums[category], score);
+                maximums[category] = Math.max(maximums[category], score);
+                histograms[category][score]++;
+            }
+        }
+        this.nbRolls += nbRolls;
+    }
+
+    void addInvalidLine() {
+        nbInvalidLines++;
+    }
+
+    public long getNbRolls() {
+        return nbRolls;
+    }
+
+    public long getNbInvalidLines() {
+        return nbInvalidLines;
+    }
+
+    public long getTotal(YatzyCategory category) {
+        return totals[indexOf(category)];
+    }
+
+    public double getMean(YatzyCategory category) {
+        return nbRolls == 0 ? 0 : (double) getTotal(category) / nbRolls;
+    }
+
+    /**
+     * @return the minimum score of the category, or 0 if no roll has been read.
+     */
+    public int getMinimum(YatzyCategory category) {
+        return nbRolls == 0 ? 0 : minimums[indexOf(category)];
+    }
+
+    public int getMaximum(YatzyCategory category) {
+        return maximums[indexOf(category)];
+    }
+
+    /**
+     * @return the number of rolls of each score in a category, indexed by score.
+     */
+    public long[] getHistogram(YatzyCategory category) {
+        return histograms[indexOf(category)].clone();
+    }
+
+    private int indexOf(YatzyCategory category) {
+        for (int index = 0; index < categories.length; index++) {
+            if (categories[index] == category) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Category not aggregated: " + category);
+    }
+}
@@ -0,0 +1,201 @@
+package loicgeo.katas.yatzy.leaderboard;
+
+import loicgeo.katas.yatzy.RuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Final scores of the completed games of a rule set, indexed to query the best games and the distribution of the
+ * scores over a time window, without sorting the games.
+ * <p>
+ * As a final score is between 0 and the max score of the rule set, games are counted in a histogram indexed by score,
+ * one per time slot. The time slots form a ring: a game of a new slot recycles the oldest one, so that the games older
+ * than {@code nbSlots} slots before the newest one are forgotten, even in a slot not recycled yet. Each score of a
+ * slot keeps the identifiers of its first {@code maxTop} games only, which is enough to answer any top query of at
+ * most {@code maxTop} games. Adding a game is then in constant time, a query in time proportional to the number of
+ * scores and slots, and the memory is bounded whatever the number of games.
+ */
+public final class Leaderboard {
+
+    private final RuleSet ruleSet;
+    private final int maxScore;
+    private final int maxTop;
+    private final long slotMillis;
+    private final Slot[] slots;
+    // index of the newest slot of a game added so far
+    private long newestSlotIndex = Long.MIN_VALUE;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param ruleSet    the rule set of the games
+     * @param maxTop     maximum number of games of a top query
+     * @param slotMillis duration of a time slot, in milliseconds
+     * @param nbSlots    number of time slots kept
+     */
+    public Leaderboard(RuleSet ruleSet, int maxTop, long slotMillis, int nbSlots) {
+        if (maxTop < 1 || slotMillis < 1 || nbSlots < 1) {
+            throw new IllegalArgumentException(
+                    "The max top, the slot duration and the number of slots must be positive");
+        }
+        this.ruleSet = ruleSet;
+        this.maxScore = ruleSet.getMaxScore();
+        this.maxTop = maxTop;
+        this.slotMillis = slotMillis;
+        this.slots = new Slot[nbSlots];
+        for (int slot = 0; slot < nbSlots; slot++) {
+            slots[slot] = new Slot();
+        }
+    }
+
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Add a completed game.
+     *
+     * @param game       identifier of the game
+     * @param total      final score of the game
+     * @param timeMillis time the game was completed, in milliseconds since the epoch
+     * @return false if the game is older than the time slots kept, {@code nbSlots} slots back from the newest one,
+     * and ignored.
+     * @throws IllegalArgumentException if the score is not possible with the rule set.
+     */
+    public boolean add(long game, int total, long timeMillis) {
+        if (total < 0 || total > maxScore) {
+            throw new IllegalArgumentException(
+                    format("A score between 0 and {0} is expected for {1}: {2}", maxScore, ruleSet, total));
+        }
+        long slotIndex = Math.floorDiv(timeMillis, slotMillis);
+        lock.writeLock().lock();
+        try {
+            if (isExpired(slotIndex, Math.max(newestSlotIndex, slotIndex))) {
+                return false;
+            }
+            newestSlotIndex = Math.max(newestSlotIndex, slotIndex);
+            Slot slot = slots[(int) Math.floorMod(slotIndex, (long) slots.length)];
+            if (slot.index < slotIndex) {
+                slot.reset(slotIndex);
+            }
+            slot.add(game, total);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param k number of games, at most {@code maxTop}
+     * @return the k best games of all the time slots kept, the best first; for a same score, the first completed
+     * first.
+     */
+    public List<LeaderboardEntry> top(int k) {
+        return top(k, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param k          number of games, at most {@code maxTop}
+     * @param fromMillis start of the time window, included
+     * @param toMillis   end of the time window, excluded
+     * @return the k best games of the time slots starting in the window, the best first; for a same score, the first
+     * completed first.
+     */
+    public List<LeaderboardEntry> top(int k, long fromMillis, long toMillis) {
+        if (k < 0 || k > maxTop) {
+            throw new IllegalArgumentException(format("A top of at most {0} games is expected: {1}", maxTop, k));
+        }
+        List<LeaderboardEntry> top = new ArrayList<>(k);
+        lock.readLock().lock();
+        try {
+            List<Slot> window = window(fromMillis, toMillis);
+            for (int total = maxScore; total >= 0 && top.size() < k; total--) {
+                for (int slot = 0; slot < window.size() && top.size() < k; slot++) {
+                    window.get(slot).collect(total, k - top.size(), top);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top;
+    }
+
+    /**
+     * @param fromMillis start of the time window, included
+     * @param toMillis   end of the time window, excluded
+     * @return the number of games of each final score, indexed by score, over the time slots starting in the window.
+     */
+    public long[] getDistribution(long fromMillis, long toMillis) {
+        long[] distribution = new long[maxScore + 1];
+        lock.readLock().lock();
+        try {
+            for (Slot slot : window(fromMillis, toMillis)) {
+                for (int total = 0; total <= maxScore; total++) {
+                    distribution[total] += slot.counts[total];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return distribution;
+    }
+
+    /**
+     * @return the number of games of each final score, indexed by score, over all the time slots kept.
+     */
+    public long[] getDistribution() {
+        return getDistribution(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private boolean isExpired(long slotIndex, long newestSlotIndex) {
+        return newestSlotIndex - slotIndex >= slots.length;
+    }
+
+    // slots kept starting in the window, oldest first
+    private List<Slot> window(long fromMillis, long toMillis) {
+        List<Slot> window = new ArrayList<>(slots.length);
+        for (Slot slot : slots) {
+            if (slot.index != Long.MIN_VALUE && !isExpired(slot.index, newestSlotIndex)
+                    && slot.startMillis() >= fromMillis && slot.startMillis() < toMillis) {
+                window.add(slot);
+            }
+        }
+        window.sort((slot1, slot2) -> Long.compare(slot1.index, slot2.index));
+        return window;
+    }
+
+    private final class Slot {
+        private long index = Long.MIN_VALUE;
+        private final long[] counts = new long[maxScore + 1];
+        // identifiers of the first maxTop games of each score
+        private final long[] games = new long[(maxScore + 1) * maxTop];
+
+        private long startMillis() {
+            return index * slotMillis;
+        }
+
+        private void reset(long newIndex) {
+            index = newIndex;
+            Arrays.fill(counts, 0);
+        }
+
+        private void add(long game, int total) {
+            if (counts[total] < maxTop) {
+                games[total * maxTop + (int) counts[total]] = game;
+            }
+            counts[total]++;
+        }
+
+        private void collect(int total, int nbGames, List<LeaderboardEntry> top) {
+            int nbKept = (int) Math.min(Math.min(counts[total], maxTop), nbGames);
+            for (int kept = 0; kept < nbKept; kept++) {
+                top.add(new LeaderboardEntry(games[total * maxTop + kept], total, startMillis()));
+            }
+        }
+    }
+}
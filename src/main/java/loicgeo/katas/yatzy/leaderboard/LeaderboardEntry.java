@@ -0,0 +1,37 @@
+package loicgeo.katas.yatzy.leaderboard;
+
+/**
+ * A completed game of a {@link Leaderboard}: its identifier, its final score, and when it was completed.
+ */
+public final class LeaderboardEntry {
+
+    private final long game;
+    private final int total;
+    private final long timeMillis;
+
+    LeaderboardEntry(long game, int total, long timeMillis) {
+        this.game = game;
+        this.total = total;
+        this.timeMillis = timeMillis;
+    }
+
+    public long getGame() {
+        return game;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the start of the time slot the game was completed in, in milliseconds since the epoch.
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "game " + game + ": " + total;
+    }
+}
@@ -0,0 +1,118 @@
+package loicgeo.katas.yatzy.service;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static loicgeo.katas.yatzy.DiceSerie.MAX_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.MIN_DICE_VALUE;
+
+/**
+ * In-JVM load of a {@link TournamentService}: concurrent clients play games, submitting every category of a game
+ * with a random roll, without waiting for the scores of the previous ones.
+ */
+public final class LoadGenerator {
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+
+    private final TournamentService service;
+    private final int nbClients;
+
+    /**
+     * @param service   the service to load
+     * @param nbClients number of threads submitting requests
+     */
+    public LoadGenerator(TournamentService service, int nbClients) {
+        this.service = service;
+        this.nbClients = nbClients;
+    }
+
+    /**
+     * Play games in a tournament, and wait for all their scores.
+     *
+     * @param tournament the tournament of the games
+     * @param nbGames    number of games to play, split between the clients
+     * @param seed       seed of the random generator
+     * @return the throughput and the latencies of the score requests.
+     * @throws InterruptedException if interrupted while waiting for the clients.
+     */
+    public LoadReport run(Tournament tournament, int nbGames, long seed) throws InterruptedException {
+        long[] latencies = new long[nbGames * CATEGORIES.length];
+        AtomicLong nbFailures = new AtomicLong();
+        SplittableRandom random = new SplittableRandom(seed);
+        ExecutorService clients = Executors.newFixedThreadPool(nbClients);
+        try {
+            long start = System.nanoTime();
+            Future<?>[] runs = new Future<?>[nbClients];
+            for (int client = 0; client < nbClients; client++) {
+                runs[client] = clients.submit(new Client(tournament, client, nbGames, random.split(), latencies, nbFailures));
+            }
+            for (Future<?> run : runs) {
+                ((CompletableFuture<?>) run.get()).join();
+            }
+            return new LoadReport(latencies, nbFailures.get(), System.nanoTime() - start);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause());
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private final class Client implements Callable<CompletableFuture<Void>> {
+        private final Tournament tournament;
+        private final int client;
+        private final int nbGames;
+        private final SplittableRandom random;
+        private final long[] latencies;
+        private final AtomicLong nbFailures;
+
+        private Client(Tournament tournament, int client, int nbGames, SplittableRandom random, long[] latencies, AtomicLong nbFailures) {
+            this.tournament = tournament;
+            this.client = client;
+            this.nbGames = nbGames;
+            this.random = random;
+            this.latencies = latencies;
+            this.nbFailures = nbFailures;
+        }
+
+        // submit every request of the client's games, and return their completion
+        @Override
+        public CompletableFuture<Void> call() throws InterruptedException, FonctionalException {
+            CompletableFuture<?>[] scores = new CompletableFuture<?>[latencies.length];
+            int nbScores = 0;
+            for (int localGame = client; localGame < nbGames; localGame += nbClients) {
+                int game = tournament.newGame();
+                for (int category = 0; category < CATEGORIES.length; category++) {
+                    int request = localGame * CATEGORIES.length + category;
+                    long submission = System.nanoTime();
+                    scores[nbScores++] = service.submit(tournament, game, roll(), CATEGORIES[category])
+                            .whenComplete((score, exception) -> {
+                                latencies[request] = System.nanoTime() - submission;
+                                if (exception != null) {
+                                    nbFailures.incrementAndGet();
+                                }
+                            });
+                }
+            }
+            return CompletableFuture.allOf(Arrays.copyOf(scores, nbScores)).handle((ignored, exception) -> null);
+        }
+
+        private DiceSerie roll() throws FonctionalException {
+            return DiceSerie.of(nextValue(), nextValue(), nextValue(), nextValue(), nextValue());
+        }
+
+        private int nextValue() {
+            return random.nextInt(MIN_DICE_VALUE, MAX_DICE_VALUE + 1);
+        }
+    }
+}
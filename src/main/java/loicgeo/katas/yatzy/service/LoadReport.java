@@ -0,0 +1,59 @@
+package loicgeo.katas.yatzy.service;
+
+import java.util.Arrays;
+
+/**
+ * Results of a {@link LoadGenerator} run: the throughput and the latencies of the score requests.
+ */
+public final class LoadReport {
+
+    private final long[] sortedLatencies;
+    private final long nbFailures;
+    private final long elapsedNanos;
+
+    LoadReport(long[] latencies, long nbFailures, long elapsedNanos) {
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(sortedLatencies);
+        this.nbFailures = nbFailures;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getNbRequests() {
+        return sortedLatencies.length;
+    }
+
+    /**
+     * @return the number of requests completed exceptionally.
+     */
+    public long getNbFailures() {
+        return nbFailures;
+    }
+
+    /**
+     * @return the number of requests scored per second, over the whole run.
+     */
+    public double getRequestsPerSecond() {
+        return elapsedNanos == 0 ? 0 : sortedLatencies.length * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param percentile a percentile, from 0 to 100
+     * @return the latency of this percentile of the requests, from their submission to their score, in nanoseconds.
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("A percentile is expected between 0 and 100: " + percentile);
+        }
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(sortedLatencies.length * percentile / 100);
+        return sortedLatencies[Math.max(rank, 1) - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests, %d failed, %.0f requests/s, p50 %d ns, p99 %d ns", getNbRequests(), nbFailures,
+                getRequestsPerSecond(), getLatencyPercentile(50), getLatencyPercentile(99));
+    }
+}
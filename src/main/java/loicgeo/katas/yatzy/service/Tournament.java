@@ -0,0 +1,65 @@
+package loicgeo.katas.yatzy.service;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.RuleSet;
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.ScorecardStore;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import loicgeo.katas.yatzy.leaderboard.Leaderboard;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * A tournament of a {@link TournamentService}: its games, and the scorecard of each one.
+ * The final score of each completed game can be added to a {@link Leaderboard}.
+ */
+public final class Tournament {
+
+    private final String name;
+    private final ScorecardStore scorecards;
+    private final Leaderboard leaderboard;
+
+    Tournament(String name, int capacity, Leaderboard leaderboard) {
+        if (leaderboard != null && leaderboard.getRuleSet() != RuleSet.YATZY) {
+            throw new IllegalArgumentException(format("A leaderboard of {0} is expected: {1}", RuleSet.YATZY, leaderboard.getRuleSet()));
+        }
+        this.name = name;
+        this.scorecards = new ScorecardStore(capacity);
+        this.leaderboard = leaderboard;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Start a new game, with an empty scorecard.
+     *
+     * @return the identifier of the game.
+     * @throws IllegalStateException if the tournament is full.
+     */
+    public int newGame() {
+        return scorecards.newGame();
+    }
+
+    public int getNbGames() {
+        return scorecards.getNbGames();
+    }
+
+    /**
+     * @return a copy of the current scorecard of a game.
+     */
+    public Scorecard getScorecard(int game) {
+        return scorecards.getScorecard(game);
+    }
+
+    int score(int game, YatzyCategory category, DiceSerie diceSerie) throws FonctionalException {
+        int score = category.score(diceSerie);
+        long state = scorecards.scoreAndGetState(game, category, score);
+        if (leaderboard != null && Scorecard.isComplete(state)) {
+            leaderboard.add(game, Scorecard.total(state), System.currentTimeMillis());
+        }
+        return score;
+    }
+}
@@ -0,0 +1,234 @@
+package loicgeo.katas.yatzy.service;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import loicgeo.katas.yatzy.leaderboard.Leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * In-process scoring service of the games of several tournaments.
+ * <p>
+ * Score requests are queued in a bounded queue, and scored by a fixed number of workers: when the queue is full,
+ * {@link #submit} waits for room, slowing down the submitters to the pace of the workers. Each worker drains up to
+ * {@code maxDrain} requests at once from the queue, taking its lock once for all of them, then scores them one by
+ * one. A request failing, whatever the exception, completes its own future exceptionally only. The scorecard of a
+ * game is updated with a compare-and-set, see {@link loicgeo.katas.yatzy.ScorecardStore}: requests of a same game
+ * scored by different workers keep its total consistent, and a category is scored once.
+ * <p>
+ * Closing the service waits for the submits in progress: each request accepted by {@link #submit} is scored.
+ * {@link #close()} waits for the workers without being interruptible, {@link #awaitTermination} for a caller that
+ * must be.
+ * <p>
+ * Workers are platform threads, the library targeting Java 8: virtual threads would not help anyway, as scoring
+ * never blocks.
+ */
+public final class TournamentService implements AutoCloseable {
+
+    private static final long POLL_TIMEOUT_MILLIS = 50;
+
+    private final BlockingQueue<PendingScore> queue;
+    private final ExecutorService workers;
+    private final int maxDrain;
+    private final Map<String, Tournament> tournaments = new ConcurrentHashMap<>();
+    // held by the submits while queuing, and by close while closing: no request is queued once closed
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * @param nbWorkers     number of threads scoring the requests
+     * @param queueCapacity maximum number of requests waiting to be scored
+     * @param maxDrain      maximum number of requests taken from the queue by a worker at once
+     */
+    public TournamentService(int nbWorkers, int queueCapacity, int maxDrain) {
+        if (nbWorkers < 1 || queueCapacity < 1 || maxDrain < 1) {
+            throw new IllegalArgumentException(
+                    "The number of workers, the queue capacity and the maximum drain must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxDrain = maxDrain;
+        this.workers = Executors.newFixedThreadPool(nbWorkers);
+        for (int worker = 0; worker < nbWorkers; worker++) {
+            workers.execute(this::work);
+        }
+    }
+
+    /**
+     * @param name     name of the tournament, unique in this service
+     * @param capacity maximum number of games
+     * @return the new tournament.
+     * @throws IllegalArgumentException if a tournament of this name already exists.
+     */
+    public Tournament createTournament(String name, int capacity) {
+        return createTournament(name, capacity, null);
+    }
+
+    /**
+     * @param name        name of the tournament, unique in this service
+     * @param capacity    maximum number of games
+     * @param leaderboard leaderboard of the Yatzy rule set to add the completed games to, null for none
+     * @return the new tournament.
+     * @throws IllegalArgumentException if a tournament of this name already exists, or if the leaderboard is not of
+     *                                  the Yatzy rule set.
+     */
+    public Tournament createTournament(String name, int capacity, Leaderboard leaderboard) {
+        Tournament tournament = new Tournament(name, capacity, leaderboard);
+        if (tournaments.putIfAbsent(name, tournament) != null) {
+            throw new IllegalArgumentException(format("Tournament {0} already exists", name));
+        }
+        return tournament;
+    }
+
+    /**
+     * @return the tournament of this name.
+     * @throws IllegalArgumentException if there is no tournament of this name.
+     */
+    public Tournament getTournament(String name) {
+        Tournament tournament = tournaments.get(name);
+        if (tournament == null) {
+            throw new IllegalArgumentException(format("Unknown tournament {0}", name));
+        }
+        return tournament;
+    }
+
+    /**
+     * Submit a roll to score in a category of a game, waiting for room in the queue if it is full.
+     *
+     * @param tournament the tournament of the game
+     * @param game       identifier of the game in the tournament
+     * @param diceSerie  the roll to score
+     * @param category   the category to score the roll in
+     * @return the score, completed by a worker; completed exceptionally with a {@link FonctionalException} if the
+     * category has already been used in the game, with an {@link IllegalArgumentException} for an unknown game, or
+     * with any other exception raised while scoring.
+     * @throws InterruptedException     if interrupted while waiting for room in the queue.
+     * @throws IllegalStateException    if the service is closed.
+     * @throws IllegalArgumentException if the tournament, the roll or the category is missing.
+     */
+    public CompletableFuture<Integer> submit(Tournament tournament, int game, DiceSerie diceSerie,
+                                             YatzyCategory category) throws InterruptedException {
+        if (tournament == null || diceSerie == null || category == null) {
+            throw new IllegalArgumentException(format("A tournament, a roll and a category are expected: {0}, {1}, {2}",
+                    tournament, diceSerie, category));
+        }
+        PendingScore pendingScore = new PendingScore(tournament, game, diceSerie, category);
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The tournament service is closed");
+            }
+            queue.put(pendingScore);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return pendingScore.score;
+    }
+
+    /**
+     * @return the number of requests waiting to be scored.
+     */
+    public int getNbPendingScores() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting requests, and wait for the workers to score the queued ones. An interruption while waiting does
+     * not stop the wait: the interrupt status of the thread is set again once the workers are done.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                break;
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop accepting requests, and wait for the workers to score the queued ones, at most for a timeout.
+     *
+     * @return true if the queued requests have all been scored, false if the timeout elapsed before.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        shutdown();
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    private void shutdown() {
+        // waits for the submits queuing a request: once closed, the queue only gets emptied
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        workers.shutdown();
+    }
+
+    private void work() {
+        List<PendingScore> drained = new ArrayList<>(maxDrain);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                PendingScore first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    drained.add(first);
+                    queue.drainTo(drained, maxDrain - 1);
+                    score(drained);
+                    drained.clear();
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void score(List<PendingScore> pendingScores) {
+        for (PendingScore pendingScore : pendingScores) {
+            try {
+                int score = pendingScore.tournament.score(
+                        pendingScore.game, pendingScore.category, pendingScore.diceSerie);
+                pendingScore.score.complete(score);
+            } catch (FonctionalException | RuntimeException exception) {
+                pendingScore.score.completeExceptionally(exception);
+            }
+        }
+    }
+
+    private static final class PendingScore {
+        private final Tournament tournament;
+        private final int game;
+        private final DiceSerie diceSerie;
+        private final YatzyCategory category;
+        private final CompletableFuture<Integer> score = new CompletableFuture<>();
+
+        private PendingScore(Tournament tournament, int game, DiceSerie diceSerie, YatzyCategory category) {
+            this.tournament = tournament;
+            this.game = game;
+            this.diceSerie = diceSerie;
+            this.category = category;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package loicgeo.katas.yatzy.simulation;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.YatzyCategory;
+
+import static loicgeo.katas.yatzy.DiceSerie.MAX_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.MIN_DICE_VALUE;
+
+/**
+ * A simple strategy: hold the dice of the most frequent value, the highest one for a same frequency, then score the
+ * best open category.
+ */
+public final class GreedyStrategy implements Strategy {
+
+    @Override
+    public int hold(Scorecard scorecard, DiceSerie diceSerie, int rerollsLeft) {
+        int heldValue = MAX_DICE_VALUE;
+        for (int value = MAX_DICE_VALUE - 1; value >= MIN_DICE_VALUE; value--) {
+            if (diceSerie.getNbOccurrencies(value) > diceSerie.getNbOccurrencies(heldValue)) {
+                heldValue = value;
+            }
+        }
+        int holdMask = 0;
+        for (int dice = 0; dice < DiceSerie.NB_DICE; dice++) {
+            if (diceSerie.getValue(dice) == heldValue) {
+                holdMask |= 1 << dice;
+            }
+        }
+        return holdMask;
+    }
+
+    @Override
+    public YatzyCategory choose(Scorecard scorecard, DiceSerie diceSerie) {
+        return YatzyCategory.best(diceSerie, scorecard.getOpenCategories());
+    }
+}
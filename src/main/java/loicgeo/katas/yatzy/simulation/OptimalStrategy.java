@@ -0,0 +1,29 @@
+package loicgeo.katas.yatzy.simulation;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.YatzySolver;
+
+/**
+ * The strategy maximizing the expected final score, as computed by a solver.
+ * The solver should be solved or loaded beforehand, see {@link YatzySolver#loadOrSolve(java.nio.file.Path)}.
+ */
+public final class OptimalStrategy implements Strategy {
+
+    private final YatzySolver solver;
+
+    public OptimalStrategy(YatzySolver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public int hold(Scorecard scorecard, DiceSerie diceSerie, int rerollsLeft) {
+        return solver.bestHold(scorecard, diceSerie, rerollsLeft);
+    }
+
+    @Override
+    public YatzyCategory choose(Scorecard scorecard, DiceSerie diceSerie) {
+        return solver.bestCategory(scorecard, diceSerie);
+    }
+}
@@ -0,0 +1,87 @@
+package loicgeo.katas.yatzy.simulation;
+
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.YatzyCategory;
+
+import static loicgeo.katas.yatzy.Scorecard.MAX_CATEGORY_SCORE;
+
+/**
+ * Aggregated results of simulated games: the distribution of the final scores, and of the scores of each category.
+ * Results of different workers are merged into one.
+ */
+public final class SimulationResult {
+
+    private final long[] finalScores = new long[Scorecard.MAX_TOTAL + 1];
+    private final long[][] categoryScores = new long[YatzyCategory.values().length][MAX_CATEGORY_SCORE + 1];
+    private long nbGames;
+    private long elapsedNanos;
+
+    void addGame(int finalScore) {
+        finalScores[finalScore]++;
+        nbGames++;
+    }
+
+    void addCategoryScore(YatzyCategory category, int score) {
+        categoryScores[category.ordinal()][score]++;
+    }
+
+    SimulationResult merge(SimulationResult other) {
+        for (int score = 0; score < finalScores.length; score++) {
+            finalScores[score] += other.finalScores[score];
+        }
+        for (int category = 0; category < categoryScores.length; category++) {
+            for (int score = 0; score <= MAX_CATEGORY_SCORE; score++) {
+                categoryScores[category][score] += other.categoryScores[category][score];
+            }
+        }
+        nbGames += other.nbGames;
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getNbGames() {
+        return nbGames;
+    }
+
+    /**
+     * @return the number of games of each final score, indexed by score.
+     */
+    public long[] getFinalScoreHistogram() {
+        return finalScores.clone();
+    }
+
+    /**
+     * @return the number of games of each score in a category, indexed by score.
+     */
+    public long[] getCategoryScoreHistogram(YatzyCategory category) {
+        return categoryScores[category.ordinal()].clone();
+    }
+
+    public double getMeanFinalScore() {
+        return mean(finalScores);
+    }
+
+    public double getMeanCategoryScore(YatzyCategory category) {
+        return mean(categoryScores[category.ordinal()]);
+    }
+
+    /**
+     * @return the number of games played per second, over the whole simulation.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nbGames * 1e9 / elapsedNanos;
+    }
+
+    private double mean(long[] histogram) {
+        long total = 0;
+        long count = 0;
+        for (int score = 0; score < histogram.length; score++) {
+            total += score * histogram[score];
+            count += histogram[score];
+        }
+        return count == 0 ? 0 : (double) total / count;
+    }
+}
@@ -0,0 +1,124 @@
+package loicgeo.katas.yatzy.simulation;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static loicgeo.katas.yatzy.DiceSerie.ALL_DICE;
+import static loicgeo.katas.yatzy.DiceSerie.MAX_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.MIN_DICE_VALUE;
+import static loicgeo.katas.yatzy.DiceSerie.NB_DICE;
+
+/**
+ * Monte Carlo simulation of single player games, played by a strategy.
+ * <p>
+ * Games are split in batches played by the workers of a fork/join pool, each batch with its own random generator,
+ * split from the one of the simulation: a same seed gives the same results, whatever the number of workers.
+ */
+public final class Simulator {
+
+    private static final int GAMES_PER_BATCH = 4096;
+    private static final int NB_REROLLS = 2;
+    // any dice serie, all its dice being rolled at the start of a turn
+    private static final DiceSerie FIRST_ROLL_BASE = DiceSerie.ofOrderedRoll(0);
+
+    private final Strategy strategy;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param strategy the strategy of the player, shared by all the workers
+     */
+    public Simulator(Strategy strategy) {
+        this(strategy, ForkJoinPool.commonPool());
+    }
+
+    public Simulator(Strategy strategy, ForkJoinPool pool) {
+        this.strategy = strategy;
+        this.pool = pool;
+    }
+
+    /**
+     * @param nbGames number of games to play
+     * @param seed    seed of the random generator
+     * @return the results of the games.
+     */
+    public SimulationResult run(long nbGames, long seed) {
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new Batch(nbGames, new SplittableRandom(seed)));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private final class Batch extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long nbGames;
+        private final SplittableRandom random;
+
+        private Batch(long nbGames, SplittableRandom random) {
+            this.nbGames = nbGames;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (nbGames <= GAMES_PER_BATCH) {
+                return play();
+            }
+            Batch firstHalf = new Batch(nbGames / 2, random.split());
+            Batch secondHalf = new Batch(nbGames - nbGames / 2, random.split());
+            firstHalf.fork();
+            SimulationResult result = secondHalf.compute();
+            return result.merge(firstHalf.join());
+        }
+
+        private SimulationResult play() {
+            SimulationResult result = new SimulationResult();
+            Scorecard scorecard = new Scorecard();
+            for (long game = 0; game < nbGames; game++) {
+                scorecard.reset();
+                while (!scorecard.isComplete()) {
+                    playTurn(scorecard, result);
+                }
+                result.addGame(scorecard.getTotal());
+            }
+            return result;
+        }
+
+        private void playTurn(Scorecard scorecard, SimulationResult result) {
+            DiceSerie diceSerie = roll(FIRST_ROLL_BASE, 0);
+            for (int rerollsLeft = NB_REROLLS; rerollsLeft > 0; rerollsLeft--) {
+                int holdMask = strategy.hold(scorecard, diceSerie, rerollsLeft);
+                if (holdMask == ALL_DICE) {
+                    break;
+                }
+                diceSerie = roll(diceSerie, holdMask);
+            }
+            YatzyCategory category = strategy.choose(scorecard, diceSerie);
+            try {
+                result.addCategoryScore(category, scorecard.score(category, diceSerie));
+            } catch (FonctionalException exception) {
+                throw new IllegalStateException("The strategy chose a category already used", exception);
+            }
+        }
+
+        // re-roll the dice not held of a dice serie, in constant time
+        private DiceSerie roll(DiceSerie diceSerie, int holdMask) {
+            try {
+                for (int dice = 0; dice < NB_DICE; dice++) {
+                    if ((holdMask & 1 << dice) == 0) {
+                        diceSerie = diceSerie.withValue(dice, random.nextInt(MIN_DICE_VALUE, MAX_DICE_VALUE + 1));
+                    }
+                }
+            } catch (FonctionalException exception) {
+                throw new IllegalStateException(exception);
+            }
+            return diceSerie;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package loicgeo.katas.yatzy.simulation;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.Scorecard;
+import loicgeo.katas.yatzy.YatzyCategory;
+
+/**
+ * Decisions of a player during a turn. A strategy is shared by all the simulation workers, so it must be thread-safe.
+ */
+public interface Strategy {
+
+    /**
+     * Choose the dice to hold before a reroll.
+     *
+     * @param scorecard   the scorecard of the player
+     * @param diceSerie   the current roll
+     * @param rerollsLeft number of rerolls left in the turn, 1 or 2
+     * @return the bit mask of the dice to hold, bit i standing for dice #i+1; holding all the dice ends the turn.
+     */
+    int hold(Scorecard scorecard, DiceSerie diceSerie, int rerollsLeft);
+
+    /**
+     * Choose the category to score the last roll of a turn in.
+     *
+     * @param scorecard the scorecard of the player
+     * @param diceSerie the last roll
+     * @return an open category of the scorecard.
+     */
+    YatzyCategory choose(Scorecard scorecard, DiceSerie diceSerie);
+}
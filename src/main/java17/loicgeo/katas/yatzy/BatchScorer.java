@@ -0,0 +1,43 @@
+package loicgeo.katas.yatzy;
+
+/**
+ * Scoring of consecutive rolls, used by {@link YatzyCategory#scoreAll}.
+ * <p>
+ * This is the Java 17 implementation: the rolls are scored with the Vector API, see {@link VectorBatchScorer}, when
+ * the system property {@value #VECTOR_PROPERTY} is set to true, the module {@code jdk.incubator.vector} is added to
+ * the JVM ({@code --add-modules jdk.incubator.vector}) and the CPU has vectors of at least 4 ints. Otherwise, they are
+ * scored one at a time from the {@link ScoreTable}: measured by {@code BatchScoringBenchmark}, the Vector API scores a
+ * single category no faster, within the error, and all the categories slower, so it is opt-in.
+ */
+final class BatchScorer {
+
+    static final String VECTOR_PROPERTY = "loicgeo.katas.yatzy.vectorScoring";
+
+    // VectorBatchScorer is only loaded when its module is there
+    private static final boolean VECTORIZED = Boolean.getBoolean(VECTOR_PROPERTY)
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && VectorBatchScorer.isSupported();
+
+    private BatchScorer() {
+    }
+
+    /**
+     * @return true if the rolls are scored with the Vector API.
+     */
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Score consecutive rolls for some categories. Values are supposed to be valid.
+     *
+     * @see ScoreTable#scoreAll(byte[], YatzyCategory[], int[])
+     */
+    static void scoreAll(byte[] values, YatzyCategory[] categories, int[] scores) {
+        if (VECTORIZED) {
+            VectorBatchScorer.scoreAll(values, categories, scores);
+        } else {
+            ScoreTable.scoreAll(values, categories, scores);
+        }
+    }
+}
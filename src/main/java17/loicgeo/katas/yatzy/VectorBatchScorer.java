@@ -0,0 +1,135 @@
+package loicgeo.katas.yatzy;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import static loicgeo.katas.yatzy.RollIndex.NB_DICE;
+import static loicgeo.katas.yatzy.RollIndex.NB_FACES;
+
+/**
+ * Scoring of consecutive rolls with the Vector API.
+ * <p>
+ * The values of a block of rolls are widened to ints, then the value of each dice of the rolls is gathered in a
+ * vector, one roll per lane: the ordered roll index of each lane is computed from these 5 vectors, the value of
+ * dice #1 being the least significant digit in base 6, see {@link RollIndex#orderedIndex(int, int, int, int, int)}.
+ * The scores of the rolls are then gathered from tables of the score of each ordered roll, one per category, built
+ * from the {@link ScoreTable}: the vectorized scores cannot differ from the scalar ones. The rolls left after the last
+ * full block are scored one at a time. The blocks are widened and scored in buffers kept by each thread.
+ * <p>
+ * Vectors are limited to 256 bits, and the scores of several categories are stored through a buffer rather than
+ * scattered: the gathers and scatters of 512-bit vectors crash the code compiled by C2 on some JDK 17 builds with
+ * AVX-512 CPUs.
+ */
+final class VectorBatchScorer {
+
+    private static final int MAX_VECTOR_BITS = 256;
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED.vectorBitSize() > MAX_VECTOR_BITS
+            ? IntVector.SPECIES_256 : IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int MIN_LANES = 4;
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    // scores indexed by category ordinal, then by ordered roll
+    private static final int[][] SCORES_BY_ORDERED_ROLL = new int[CATEGORIES.length][RollIndex.NB_ORDERED_ROLLS];
+    // offset of dice #i of each lane in a block of widened values, dice by dice
+    private static final int[][] DICE_OFFSETS = new int[NB_DICE][LANES];
+
+    static {
+        for (YatzyCategory category : CATEGORIES) {
+            for (int orderedRoll = 0; orderedRoll < RollIndex.NB_ORDERED_ROLLS; orderedRoll++) {
+                SCORES_BY_ORDERED_ROLL[category.ordinal()][orderedRoll] = ScoreTable.score(category, RollIndex.distinctIndex(orderedRoll));
+            }
+        }
+        for (int lane = 0; lane < LANES; lane++) {
+            for (int dice = 0; dice < NB_DICE; dice++) {
+                DICE_OFFSETS[dice][lane] = lane * NB_DICE + dice;
+            }
+        }
+    }
+
+    private VectorBatchScorer() {
+    }
+
+    static boolean isSupported() {
+        return LANES >= MIN_LANES;
+    }
+
+    /**
+     * Score consecutive rolls for some categories. Values are supposed to be valid.
+     *
+     * @see ScoreTable#scoreAll(byte[], YatzyCategory[], int[])
+     */
+    static void scoreAll(byte[] values, YatzyCategory[] categories, int[] scores) {
+        int nbCategories = categories.length;
+        int nbRolls = values.length / NB_DICE;
+        int nbVectorizedRolls = nbRolls - nbRolls % LANES;
+        Buffers buffers = BUFFERS.get();
+        int[] blockValues = buffers.blockValues;
+        int[] orderedRolls = buffers.orderedRolls;
+        int[] categoryScores = buffers.categoryScores(nbCategories);
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        for (int roll = 0; roll < nbVectorizedRolls; roll += LANES) {
+            int offset = roll * NB_DICE;
+            for (int index = 0; index < blockValues.length; index++) {
+                blockValues[index] = values[offset + index];
+            }
+
+            IntVector orderedRoll = IntVector.zero(SPECIES);
+            for (int dice = NB_DICE - 1; dice >= 0; dice--) {
+                IntVector diceValues = IntVector.fromArray(SPECIES, blockValues, 0, DICE_OFFSETS[dice], 0);
+                orderedRoll = orderedRoll.mul(NB_FACES).add(diceValues.sub(one));
+            }
+            orderedRoll.intoArray(orderedRolls, 0);
+
+            if (nbCategories == 1) {
+                IntVector.fromArray(SPECIES, SCORES_BY_ORDERED_ROLL[categories[0].ordinal()], 0, orderedRolls, 0)
+                        .intoArray(scores, roll);
+            } else {
+                for (int category = 0; category < nbCategories; category++) {
+                    IntVector.fromArray(SPECIES, SCORES_BY_ORDERED_ROLL[categories[category].ordinal()], 0, orderedRolls, 0)
+                            .intoArray(categoryScores, category * LANES);
+                }
+                interleave(categoryScores, nbCategories, scores, roll * nbCategories);
+            }
+        }
+        if (nbVectorizedRolls < nbRolls) {
+            scoreRemainingRolls(values, nbVectorizedRolls, categories, scores);
+        }
+    }
+
+    // store the scores of a block of rolls roll by roll, from the scores stored category by category
+    private static void interleave(int[] categoryScores, int nbCategories, int[] scores, int offset) {
+        for (int lane = 0; lane < LANES; lane++) {
+            for (int category = 0; category < nbCategories; category++) {
+                scores[offset + lane * nbCategories + category] = categoryScores[category * LANES + lane];
+            }
+        }
+    }
+
+    private static void scoreRemainingRolls(byte[] values, int firstRoll, YatzyCategory[] categories, int[] scores) {
+        int nbCategories = categories.length;
+        for (int roll = firstRoll, offset = firstRoll * NB_DICE; offset < values.length; roll++, offset += NB_DICE) {
+            int orderedRoll = RollIndex.orderedIndex(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]);
+            for (int category = 0; category < nbCategories; category++) {
+                scores[roll * nbCategories + category] = SCORES_BY_ORDERED_ROLL[categories[category].ordinal()][orderedRoll];
+            }
+        }
+    }
+
+    // buffers of a thread, the scores of the categories growing with their number
+    private static final class Buffers {
+        private final int[] blockValues = new int[LANES * NB_DICE];
+        private final int[] orderedRolls = new int[LANES];
+        private int[] categoryScores = new int[LANES * CATEGORIES.length];
+
+        private int[] categoryScores(int nbCategories) {
+            if (categoryScores.length < LANES * nbCategories) {
+                categoryScores = new int[LANES * nbCategories];
+            }
+            return categoryScores;
+        }
+    }
+}
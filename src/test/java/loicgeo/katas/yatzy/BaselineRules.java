@@ -0,0 +1,117 @@
+package loicgeo.katas.yatzy;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.*;
+
+/**
+ * Frozen copy of the scoring rules of the categories as they were before any optimization (release 0.1), on a
+ * collection of boxed values: the reference that the scoring of every ordered roll must keep matching, whatever the
+ * rewrites of {@link YatzyCategory} and {@link DiceSerie}.
+ * <p>
+ * Not to be changed, except for a wanted change of the rules.
+ */
+final class BaselineRules {
+
+    private static final int MAX_DICE_VALUE = 6;
+    private static final int SCORE_YATZY = 50;
+    private static final int SCORE_SMALL_STRAIGHT = 15;
+    private static final int SCORE_LARGE_STRAIGHT = 20;
+
+    private BaselineRules() {
+    }
+
+    /**
+     * @param category a category
+     * @param diceSerie a set of dice values
+     * @return the score of the dice serie for the category, according to the baseline rules.
+     */
+    static int score(YatzyCategory category, DiceSerie diceSerie) {
+        Collection<Integer> values = asList(diceSerie.getValue(0), diceSerie.getValue(1), diceSerie.getValue(2),
+                diceSerie.getValue(3), diceSerie.getValue(4));
+        switch (category) {
+            case CHANCE:
+                return values.stream().reduce(0, Integer::sum);
+            case YATZY:
+                return isComposedOfOnlyOneKindOfValue(values) ? SCORE_YATZY : 0;
+            case ONES:
+                return sumByDiceValue(values, 1);
+            case TWOS:
+                return sumByDiceValue(values, 2);
+            case THREES:
+                return sumByDiceValue(values, 3);
+            case FOURS:
+                return sumByDiceValue(values, 4);
+            case FIVES:
+                return sumByDiceValue(values, 5);
+            case SIXES:
+                return sumByDiceValue(values, 6);
+            case PAIR:
+                return scoreValues(values, 2, 1);
+            case TWO_PAIRS:
+                return scoreValues(values, 2, 2);
+            case THREE_Of_A_KIND:
+                return scoreValues(values, 3, 1);
+            case FOUR_Of_A_KIND:
+                return scoreValues(values, 4, 1);
+            case SMALL_STRAIGHT:
+                return getValuesAsString(values).contains("12345") ? SCORE_SMALL_STRAIGHT : 0;
+            case LARGE_STRAIGHT:
+                return getValuesAsString(values).contains("23456") ? SCORE_LARGE_STRAIGHT : 0;
+            case FULL_HOUSE:
+                if (isComposedOfOnlyOneKindOfValue(values)) {
+                    return 0;
+                }
+                return scoreValues(values, 3, 1) + scoreValues(values, 2, 1);
+            default:
+                throw new IllegalArgumentException("No baseline rule for " + category);
+        }
+    }
+
+    private static int scoreValues(Collection<Integer> values, final int havingNbOccurrencesForAValue, final int nbTimesIntheSerie) {
+        int[] countsByValue = getNbOccurrenciesByValue(values);
+
+        int score = 0;
+        int nbMatchs = 0;
+        for (int currentValue = countsByValue.length - 1; currentValue > 0; currentValue--) {
+            int nbOccurrencesOfCurrentValue = countsByValue[currentValue];
+            if (nbOccurrencesOfCurrentValue >= havingNbOccurrencesForAValue) {
+                nbMatchs++;
+                score += currentValue * Math.min(nbOccurrencesOfCurrentValue, havingNbOccurrencesForAValue);
+                if (nbMatchs >= nbTimesIntheSerie) {
+                    break;
+                }
+            }
+        }
+        return nbTimesIntheSerie == nbMatchs ? score : 0;
+    }
+
+    private static Integer sumByDiceValue(Collection<Integer> values, int value) {
+        return values.stream()
+                .filter(v -> v == value)
+                .reduce(0, Integer::sum);
+    }
+
+    private static int[] getNbOccurrenciesByValue(Collection<Integer> values) {
+        int[] countsByValue = new int[MAX_DICE_VALUE + 1];
+
+        Map<Integer, Long> countsByValueMap = values.stream().collect(groupingBy(identity(), counting()));
+        countsByValueMap.forEach((value, count) -> countsByValue[value] = count.intValue());
+
+        return countsByValue;
+    }
+
+    private static boolean isComposedOfOnlyOneKindOfValue(Collection<Integer> values) {
+        return values.stream().distinct().count() == 1;
+    }
+
+    private static String getValuesAsString(Collection<Integer> values) {
+        return values.stream()
+                .sorted()
+                .map(Object::toString)
+                .collect(joining(""));
+    }
+}
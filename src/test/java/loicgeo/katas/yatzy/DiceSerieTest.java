@@ -31,4 +31,130 @@ public class DiceSerieTest {
                 "Wrong dice values");
     }
 
+    @Test
+    public void should_count_the_dices_of_each_value() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = new DiceSerie(5, 2, 2, 5, 2);
+
+        // when
+        // then
+        assertThat(diceSerie.getNbOccurrenciesByValue()).containsExactly(0, 0, 3, 0, 0, 2, 0);
+        assertThat(diceSerie.getNbOccurrencies(2)).isEqualTo(3);
+        assertThat(diceSerie.getNbOccurrencies(6)).isEqualTo(0);
+        assertThat(diceSerie.getSum()).isEqualTo(16);
+    }
+
+    @Test
+    public void should_keep_the_order_of_the_values() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = new DiceSerie(6, 1, 4, 1, 3);
+
+        // when
+        // then
+        assertThat(diceSerie.getValues()).containsExactly(6, 1, 4, 1, 3);
+        assertThat(diceSerie.getValue(2)).isEqualTo(4);
+        assertThat(diceSerie.getValuesAsString(",")).isEqualTo("1,1,3,4,6");
+    }
+
+    @Test
+    public void should_share_the_same_DiceSerie_instance_for_the_same_roll() throws FonctionalException {
+        // given
+        // when
+        DiceSerie diceSerie = DiceSerie.of(4, 1, 4, 2, 6);
+
+        // then
+        assertThat(diceSerie).isSameAs(DiceSerie.of(4, 1, 4, 2, 6));
+        assertThat(diceSerie).isEqualTo(new DiceSerie(4, 1, 4, 2, 6));
+        assertThat(diceSerie.getValues()).containsExactly(4, 1, 4, 2, 6);
+    }
+
+    @Test
+    public void should_throw_an_exception_trying_to_get_a_DiceSerie_with_not_allowed_value() {
+        // given
+        ThrowableAssert.ThrowingCallable diceInstantiation = () -> DiceSerie.of(1, 2, 7, 5, 6);
+
+        // when
+        // then
+        assertThatThrownBy(diceInstantiation).isInstanceOf(FonctionalException.class).hasMessageContaining(
+                "Wrong dice values");
+    }
+
+    @Test
+    public void should_get_the_DiceSerie_of_an_ordered_roll() throws FonctionalException {
+        // given
+        // when
+        // then
+        assertThat(DiceSerie.ofOrderedRoll(0)).isSameAs(DiceSerie.of(1, 1, 1, 1, 1));
+        assertThat(DiceSerie.ofOrderedRoll(RollIndex.NB_ORDERED_ROLLS - 1)).isSameAs(DiceSerie.of(6, 6, 6, 6, 6));
+        assertThat(DiceSerie.ofOrderedRoll(1)).isSameAs(DiceSerie.of(2, 1, 1, 1, 1));
+        assertThatThrownBy(() -> DiceSerie.ofOrderedRoll(RollIndex.NB_ORDERED_ROLLS)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_get_an_empty_DiceSerie_for_not_allowed_value_without_exception() throws FonctionalException {
+        // given
+        // when
+        // then
+        assertThat(DiceSerie.tryOf(1, 2, 3, 5, 0)).isEmpty();
+        assertThat(DiceSerie.tryOf(1, 2, 3, 5, 6)).containsSame(DiceSerie.of(1, 2, 3, 5, 6));
+        assertThat(DiceSerie.isValid(6, 6, 6, 6, 7)).isFalse();
+        assertThat(DiceSerie.isValid(Integer.MIN_VALUE, 1, 1, 1, 1)).isFalse();
+    }
+
+    @Test
+    public void should_find_sequences_of_values() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(4, 1, 3, 2, 6);
+
+        // when
+        // then
+        assertThat(diceSerie.containsSequence(1, 4)).isTrue();
+        assertThat(diceSerie.containsSequence(2, 4)).isTrue();
+        assertThat(diceSerie.containsSequence(6, 6)).isTrue();
+        assertThat(diceSerie.containsSequence(1, 5)).isFalse();
+        assertThat(diceSerie.containsSequence(3, 6)).isFalse();
+        assertThat(diceSerie.containsSequenceOf(4)).isTrue();
+        assertThat(diceSerie.containsSequenceOf(5)).isFalse();
+        assertThat(DiceSerie.of(6, 5, 4, 3, 1).containsSequenceOf(4)).isTrue();
+    }
+
+    @Test
+    public void should_reroll_the_dice_not_held() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(6, 2, 6, 3, 6);
+
+        // when
+        DiceSerie rerolledDiceSerie = diceSerie.reroll(0b10101, 6, 1);
+
+        // then
+        assertThat(rerolledDiceSerie).isSameAs(DiceSerie.of(6, 6, 6, 1, 6));
+        assertThat(rerolledDiceSerie.getNbOccurrencies(6)).isEqualTo(4);
+        assertThat(rerolledDiceSerie.getRollIndex()).isEqualTo(DiceSerie.of(1, 6, 6, 6, 6).getRollIndex());
+        assertThat(diceSerie.reroll(DiceSerie.ALL_DICE)).isSameAs(diceSerie);
+        assertThat(diceSerie.withValue(4, 5)).isSameAs(DiceSerie.of(6, 2, 6, 3, 5));
+    }
+
+    @Test
+    public void should_throw_an_exception_rerolling_with_a_wrong_value() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(6, 2, 6, 3, 6);
+
+        // when
+        // then
+        assertThatThrownBy(() -> diceSerie.reroll(0b10101, 6, 7)).isInstanceOf(FonctionalException.class).hasMessageContaining("Wrong dice value 7");
+        assertThatThrownBy(() -> diceSerie.reroll(0b10101, 6)).isInstanceOf(FonctionalException.class).hasMessageContaining("Wrong number of new values");
+    }
+
+    @Test
+    public void should_throw_an_exception_changing_the_value_of_a_wrong_dice() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(6, 2, 6, 3, 6);
+
+        // when
+        // then
+        assertThatThrownBy(() -> diceSerie.withValue(5, 3)).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Wrong dice 5");
+        assertThatThrownBy(() -> diceSerie.withValue(-1, 3)).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Wrong dice -1");
+        assertThatThrownBy(() -> diceSerie.withValue(0, 0)).isInstanceOf(FonctionalException.class).hasMessageContaining("Wrong dice value 0");
+    }
+
 }
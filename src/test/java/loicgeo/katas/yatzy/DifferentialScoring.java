@@ -0,0 +1,203 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.text.MessageFormat.format;
+import static loicgeo.katas.yatzy.RollIndex.NB_ORDERED_ROLLS;
+
+/**
+ * Differential test harness: compares a candidate scorer with the frozen scoring rules of {@link BaselineRules}, that
+ * no rewrite of the categories can change along with the candidate.
+ * <li>exhaustively, on every category of the {@value RollIndex#NB_ORDERED_ROLLS} ordered rolls, split between the
+ * cores</li>
+ * <li>or on random full games, each roll and re-roll being scored in every category, and each game being scored by the
+ * candidate in a scorecard, whose final total is checked against the baseline scores</li>
+ * Only the first {@value #MAX_MISMATCHES} mismatches are reported.
+ */
+final class DifferentialScoring {
+
+    static final int MAX_MISMATCHES = 100;
+
+    private static final YatzyCategory[] CATEGORIES = YatzyCategory.values();
+    private static final int NB_REROLLS = 2;
+    private static final int GAMES_PER_TASK = 256;
+
+    /**
+     * A scorer to compare with the baseline rules.
+     */
+    interface Scorer {
+        int score(YatzyCategory category, DiceSerie diceSerie) throws FonctionalException;
+    }
+
+    /**
+     * A scorer of consecutive rolls to compare with the baseline rules, see {@link YatzyCategory#scoreAll}.
+     */
+    interface BatchScorer {
+        void scoreAll(byte[] values, YatzyCategory[] categories, int[] scores) throws FonctionalException;
+    }
+
+    private DifferentialScoring() {
+    }
+
+    /**
+     * @return the mismatches of the candidate on every category of every ordered roll.
+     */
+    static List<String> compareExhaustively(Scorer candidate) {
+        List<String> mismatches = Collections.synchronizedList(new ArrayList<>());
+        IntStream.range(0, NB_ORDERED_ROLLS).parallel().forEach(orderedRoll -> {
+            DiceSerie diceSerie = DiceSerie.ofOrderedRoll(orderedRoll);
+            for (YatzyCategory category : CATEGORIES) {
+                compare(candidate, category, diceSerie, mismatches);
+            }
+        });
+        return mismatches;
+    }
+
+    /**
+     * Score every ordered roll in every category, in batches of rolls of all the ordered rolls of a value of dice #5.
+     *
+     * @return the mismatches of the candidate on every category of every ordered roll.
+     */
+    static List<String> compareExhaustively(BatchScorer candidate) {
+        List<String> mismatches = Collections.synchronizedList(new ArrayList<>());
+        int rollsPerBatch = NB_ORDERED_ROLLS / RollIndex.NB_FACES;
+        IntStream.range(0, RollIndex.NB_FACES).parallel().forEach(batch -> {
+            byte[] values = new byte[rollsPerBatch * DiceSerie.NB_DICE];
+            for (int roll = 0; roll < rollsPerBatch; roll++) {
+                DiceSerie diceSerie = DiceSerie.ofOrderedRoll(batch * rollsPerBatch + roll);
+                for (int dice = 0; dice < DiceSerie.NB_DICE; dice++) {
+                    values[roll * DiceSerie.NB_DICE + dice] = (byte) diceSerie.getValue(dice);
+                }
+            }
+            int[] scores = new int[rollsPerBatch * CATEGORIES.length];
+            try {
+                candidate.scoreAll(values, CATEGORIES, scores);
+            } catch (FonctionalException exception) {
+                report(mismatches, format("Batch #{0} failed: {1}", batch, exception.getMessage()));
+                return;
+            }
+            for (int roll = 0; roll < rollsPerBatch; roll++) {
+                DiceSerie diceSerie = DiceSerie.ofOrderedRoll(batch * rollsPerBatch + roll);
+                for (YatzyCategory category : CATEGORIES) {
+                    int expectedScore = BaselineRules.score(category, diceSerie);
+                    int score = scores[roll * CATEGORIES.length + category.ordinal()];
+                    if (score != expectedScore) {
+                        report(mismatches, mismatch(category, diceSerie, score, expectedScore));
+                    }
+                }
+            }
+        });
+        return mismatches;
+    }
+
+    /**
+     * Play random games: each turn rolls the dice, re-rolls random dice twice, then scores in a random open category.
+     * A same seed plays the same games, whatever the number of cores.
+     *
+     * @return the mismatches of the candidate on every roll of the games, and on their final totals.
+     */
+    static List<String> fuzzGames(Scorer candidate, long nbGames, long seed) {
+        List<String> mismatches = Collections.synchronizedList(new ArrayList<>());
+        SplittableRandom random = new SplittableRandom(seed);
+        long nbTasks = (nbGames + GAMES_PER_TASK - 1) / GAMES_PER_TASK;
+        SplittableRandom[] taskRandoms = new SplittableRandom[(int) nbTasks];
+        for (int task = 0; task < nbTasks; task++) {
+            taskRandoms[task] = random.split();
+        }
+        LongStream.range(0, nbTasks).parallel().forEach(task -> {
+            long nbTaskGames = Math.min(GAMES_PER_TASK, nbGames - task * GAMES_PER_TASK);
+            for (long game = 0; game < nbTaskGames && mismatches.size() < MAX_MISMATCHES; game++) {
+                playGame(candidate, taskRandoms[(int) task], mismatches);
+            }
+        });
+        return mismatches;
+    }
+
+    private static void playGame(Scorer candidate, SplittableRandom random, List<String> mismatches) {
+        long scorecardState = 0;
+        int expectedUpperTotal = 0;
+        int expectedTotal = 0;
+        try {
+            while (!Scorecard.isComplete(scorecardState)) {
+                DiceSerie diceSerie = DiceSerie.ofOrderedRoll(random.nextInt(NB_ORDERED_ROLLS));
+                compareAll(candidate, diceSerie, mismatches);
+                for (int reroll = 0; reroll < NB_REROLLS; reroll++) {
+                    int holdMask = random.nextInt(DiceSerie.ALL_DICE + 1);
+                    int[] newValues = new int[DiceSerie.NB_DICE - Integer.bitCount(holdMask)];
+                    for (int dice = 0; dice < newValues.length; dice++) {
+                        newValues[dice] = random.nextInt(DiceSerie.MIN_DICE_VALUE, DiceSerie.MAX_DICE_VALUE + 1);
+                    }
+                    diceSerie = diceSerie.reroll(holdMask, newValues);
+                    compareAll(candidate, diceSerie, mismatches);
+                }
+                int openCategories = Scorecard.openCategories(scorecardState);
+                int nbOpenCategories = Integer.bitCount(openCategories);
+                for (int skipped = random.nextInt(nbOpenCategories); skipped > 0; skipped--) {
+                    openCategories &= openCategories - 1;
+                }
+                YatzyCategory category = CATEGORIES[Integer.numberOfTrailingZeros(openCategories)];
+                int expectedScore = BaselineRules.score(category, diceSerie);
+                if (category.isUpperSection()) {
+                    expectedUpperTotal += expectedScore;
+                }
+                expectedTotal += expectedScore;
+                scorecardState = Scorecard.score(scorecardState, category, candidate.score(category, diceSerie));
+            }
+        } catch (FonctionalException | IllegalArgumentException exception) {
+            report(mismatches, "Game failed: " + exception.getMessage());
+            return;
+        }
+        if (expectedUpperTotal >= Scorecard.UPPER_SECTION_BONUS_THRESHOLD) {
+            expectedTotal += YatzyCategory.DefaultScores.SCORE_UPPER_SECTION_BONUS.getScore();
+        }
+        if (Scorecard.total(scorecardState) != expectedTotal) {
+            report(mismatches, format("Final total {0} instead of {1}", Scorecard.total(scorecardState), expectedTotal));
+        }
+    }
+
+    private static void compareAll(Scorer candidate, DiceSerie diceSerie, List<String> mismatches) {
+        for (YatzyCategory category : CATEGORIES) {
+            compare(candidate, category, diceSerie, mismatches);
+        }
+    }
+
+    private static void compare(Scorer candidate, YatzyCategory category, DiceSerie diceSerie, List<String> mismatches) {
+        int expectedScore = BaselineRules.score(category, diceSerie);
+        try {
+            int score = candidate.score(category, diceSerie);
+            if (score != expectedScore) {
+                report(mismatches, mismatch(category, diceSerie, score, expectedScore));
+            }
+        } catch (FonctionalException exception) {
+            report(mismatches, format("{0} on roll ''{1}'' failed: {2}", category, values(diceSerie), exception.getMessage()));
+        }
+    }
+
+    private static String mismatch(YatzyCategory category, DiceSerie diceSerie, int score, int expectedScore) {
+        return format("{0} on roll ''{1}'': {2} instead of {3}", category, values(diceSerie), score, expectedScore);
+    }
+
+    private static String values(DiceSerie diceSerie) {
+        StringBuilder values = new StringBuilder();
+        for (int dice = 0; dice < DiceSerie.NB_DICE; dice++) {
+            values.append(dice == 0 ? "" : ",").append(diceSerie.getValue(dice));
+        }
+        return values.toString();
+    }
+
+    // the list is shared by the workers: checking its size and adding to it is a single step
+    private static void report(List<String> mismatches, String mismatch) {
+        synchronized (mismatches) {
+            if (mismatches.size() < MAX_MISMATCHES) {
+                mismatches.add(mismatch);
+            }
+        }
+    }
+}
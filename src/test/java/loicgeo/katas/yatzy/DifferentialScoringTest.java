@@ -0,0 +1,101 @@
+package loicgeo.katas.yatzy;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every optimized scoring path against the frozen scoring rules of {@link BaselineRules}. The fuzzed games are set by
+ * the system properties {@value #FUZZ_GAMES_PROPERTY} and {@value #FUZZ_SEED_PROPERTY}, to fuzz longer or other games
+ * than the default run, always the same:
+ * {@code mvn test -Dtest=DifferentialScoringTest -DargLine="-Dloicgeo.katas.yatzy.fuzzGames=10000000 -Dloicgeo.katas.yatzy.fuzzSeed=7"}.
+ */
+public class DifferentialScoringTest {
+
+    private static final String FUZZ_GAMES_PROPERTY = "loicgeo.katas.yatzy.fuzzGames";
+    private static final String FUZZ_SEED_PROPERTY = "loicgeo.katas.yatzy.fuzzSeed";
+    private static final long NB_FUZZ_GAMES = Long.getLong(FUZZ_GAMES_PROPERTY, 2_000);
+    private static final long FUZZ_SEED = Long.getLong(FUZZ_SEED_PROPERTY, 20_231_018);
+
+    @Test
+    public void should_score_every_roll_from_the_score_table_as_the_baseline_rules() {
+        // given
+        DifferentialScoring.Scorer scoreTable = YatzyCategory::score;
+
+        // when
+        List<String> mismatches = DifferentialScoring.compareExhaustively(scoreTable);
+
+        // then
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    public void should_score_every_roll_of_a_shared_yatzy_as_the_baseline_rules() {
+        // given
+        DifferentialScoring.Scorer sharedYatzy = (category, diceSerie) ->
+                Yatzy.of(diceSerie.getValue(0), diceSerie.getValue(1), diceSerie.getValue(2), diceSerie.getValue(3), diceSerie.getValue(4))
+                        .scoreRoll(category);
+
+        // when
+        List<String> mismatches = DifferentialScoring.compareExhaustively(sharedYatzy);
+
+        // then
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    public void should_score_every_roll_of_the_yatzy_rule_set_as_the_baseline_rules() {
+        // given
+        DifferentialScoring.Scorer ruleSet = (category, diceSerie) ->
+                RuleSet.YATZY.score(RuleSet.YATZY.categoryIndex(category.name()),
+                        diceSerie.getValue(0), diceSerie.getValue(1), diceSerie.getValue(2), diceSerie.getValue(3), diceSerie.getValue(4));
+
+        // when
+        List<String> mismatches = DifferentialScoring.compareExhaustively(ruleSet);
+
+        // then
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    public void should_score_every_roll_in_batch_as_the_baseline_rules() {
+        // given
+        DifferentialScoring.BatchScorer batchScorer = YatzyCategory::scoreAll;
+
+        // when
+        List<String> mismatches = DifferentialScoring.compareExhaustively(batchScorer);
+
+        // then
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    public void should_score_random_games_as_the_baseline_rules() {
+        // given
+        DifferentialScoring.Scorer scoreTable = YatzyCategory::score;
+
+        // when
+        List<String> mismatches = DifferentialScoring.fuzzGames(scoreTable, NB_FUZZ_GAMES, FUZZ_SEED);
+
+        // then
+        assertThat(mismatches).as("Mismatches of the games of seed %d", FUZZ_SEED).isEmpty();
+    }
+
+    @Test
+    public void should_report_the_mismatches_of_a_wrong_scorer() {
+        // given
+        DifferentialScoring.Scorer wrongChance = (category, diceSerie) ->
+                category == YatzyCategory.CHANCE && diceSerie.getValue(0) == 6 ? 0 : category.score(diceSerie);
+
+        // when
+        List<String> mismatches = DifferentialScoring.compareExhaustively(wrongChance);
+        List<String> gameMismatches = DifferentialScoring.fuzzGames(wrongChance, 10, 42);
+
+        // then
+        assertThat(mismatches).hasSize(DifferentialScoring.MAX_MISMATCHES).allMatch(mismatch -> mismatch.startsWith("CHANCE on roll '6,"));
+        assertThat(gameMismatches).isNotEmpty();
+    }
+
+}
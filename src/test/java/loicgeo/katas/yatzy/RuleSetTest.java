@@ -0,0 +1,130 @@
+package loicgeo.katas.yatzy;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static loicgeo.katas.yatzy.RuleSet.MAXI_YATZY;
+import static loicgeo.katas.yatzy.RuleSet.YAHTZEE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(JUnitParamsRunner.class)
+public class RuleSetTest {
+
+    @Test
+    public void should_score_the_yatzy_rule_set_as_the_yatzy_categories() throws FonctionalException {
+        // given
+        int[] values = new int[DiceSerie.NB_DICE];
+
+        // when
+        // then
+        for (int orderedRoll = 0; orderedRoll < RollIndex.NB_ORDERED_ROLLS; orderedRoll += 7) {
+            DiceSerie diceSerie = DiceSerie.ofOrderedRoll(orderedRoll);
+            for (int dice = 0; dice < values.length; dice++) {
+                values[dice] = diceSerie.getValue(dice);
+            }
+            for (YatzyCategory category : YatzyCategory.values()) {
+                int ruleSetCategory = RuleSet.YATZY.categoryIndex(category.name());
+                assertThat(RuleSet.YATZY.score(ruleSetCategory, values))
+                        .isEqualTo(RuleSet.YATZY.score(ruleSetCategory, diceSerie))
+                        .isEqualTo(category.score(diceSerie));
+            }
+        }
+    }
+
+    public static Object[] givenYahtzeeRolls() {
+        return new Object[]{
+                new Object[]{new int[]{3, 4, 5, 6, 1}, "SMALL_STRAIGHT", 30},
+                new Object[]{new int[]{3, 4, 5, 6, 2}, "LARGE_STRAIGHT", 40},
+                new Object[]{new int[]{3, 4, 5, 6, 1}, "LARGE_STRAIGHT", 0},
+                new Object[]{new int[]{2, 2, 2, 5, 5}, "FULL_HOUSE", 25},
+                new Object[]{new int[]{2, 2, 2, 2, 5}, "FULL_HOUSE", 0},
+                new Object[]{new int[]{2, 2, 2, 6, 5}, "THREE_Of_A_KIND", 17},
+                new Object[]{new int[]{1, 1, 1, 1, 1}, "YAHTZEE", 50},
+        };
+    }
+
+    @Test
+    @Parameters(method = "givenYahtzeeRolls")
+    public void should_score_yahtzee_rolls(int[] values, String category, int expectedScore) throws FonctionalException {
+        // given
+        // when
+        int score = YAHTZEE.score(YAHTZEE.categoryIndex(category), values);
+
+        // then
+        assertThat(score).isEqualTo(expectedScore);
+    }
+
+    public static Object[] givenMaxiYatzyRolls() {
+        return new Object[]{
+                new Object[]{new int[]{1, 1, 4, 4, 6, 6}, "THREE_PAIRS", 22},
+                new Object[]{new int[]{1, 1, 4, 4, 6, 5}, "THREE_PAIRS", 0},
+                new Object[]{new int[]{2, 2, 2, 5, 5, 5}, "CASTLE", 21},
+                new Object[]{new int[]{2, 2, 2, 2, 5, 5}, "TOWER", 18},
+                new Object[]{new int[]{2, 2, 2, 2, 2, 5}, "TOWER", 0},
+                new Object[]{new int[]{2, 2, 2, 5, 5, 6}, "FULL_HOUSE", 16},
+                new Object[]{new int[]{3, 2, 1, 6, 5, 4}, "FULL_STRAIGHT", 21},
+                new Object[]{new int[]{4, 4, 4, 4, 4, 1}, "FIVE_Of_A_KIND", 20},
+                new Object[]{new int[]{4, 4, 4, 4, 4, 4}, "MAXI_YATZY", 100},
+        };
+    }
+
+    @Test
+    @Parameters(method = "givenMaxiYatzyRolls")
+    public void should_score_maxi_yatzy_rolls(int[] values, String category, int expectedScore) throws FonctionalException {
+        // given
+        // when
+        int score = MAXI_YATZY.score(MAXI_YATZY.categoryIndex(category), values);
+
+        // then
+        assertThat(score).isEqualTo(expectedScore);
+    }
+
+    @Test
+    public void should_throw_an_exception_scoring_a_roll_of_a_wrong_number_of_dice() {
+        // given
+        ThrowableAssert.ThrowingCallable scoring = () -> MAXI_YATZY.score(0, 1, 2, 3, 4, 5);
+
+        // when
+        // then
+        assertThatThrownBy(scoring).isInstanceOf(FonctionalException.class).hasMessageContaining("expects 6 dice");
+    }
+
+    @Test
+    public void should_throw_an_exception_scoring_a_roll_in_an_unknown_category() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(1, 2, 3, 4, 5);
+        int nbCategories = RuleSet.YATZY.getCategories().size();
+
+        // when
+        // then
+        assertThatThrownBy(() -> RuleSet.YATZY.score(nbCategories, 1, 2, 3, 4, 5))
+                .isInstanceOf(FonctionalException.class).hasMessageContaining("Unknown category");
+        assertThatThrownBy(() -> RuleSet.YATZY.score(-1, diceSerie))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unknown category");
+    }
+
+    @Test
+    public void should_throw_an_exception_scoring_a_dice_serie_with_a_rule_set_of_another_number_of_dice() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(1, 2, 3, 4, 5);
+
+        // when
+        // then
+        assertThatThrownBy(() -> MAXI_YATZY.score(0, diceSerie))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("played with 6 dice");
+    }
+
+    @Test
+    public void should_compute_the_best_possible_score() {
+        // given
+        // when
+        // then
+        assertThat(YAHTZEE.getMaxScore()).isEqualTo(375);
+    }
+
+}
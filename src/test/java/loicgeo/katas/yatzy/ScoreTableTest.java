@@ -0,0 +1,35 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+public class ScoreTableTest {
+
+    @Test
+    public void should_match_the_scoring_rules_for_every_ordered_roll() {
+        // given
+        // when
+        // then
+        assertThatCode(ScoreTable::verify).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void should_score_the_same_for_every_order_of_a_roll() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = new DiceSerie(6, 2, 2, 2, 6);
+        DiceSerie sameValuesInAnotherOrder = new DiceSerie(2, 6, 2, 6, 2);
+
+        // when
+        // then
+        assertThat(diceSerie.getRollIndex()).isEqualTo(sameValuesInAnotherOrder.getRollIndex());
+        for (YatzyCategory category : YatzyCategory.values()) {
+            assertThat(category.score(diceSerie))
+                    .isEqualTo(category.score(sameValuesInAnotherOrder))
+                    .isEqualTo(category.referenceScore(diceSerie));
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScorecardStoreTest {
+
+    private static final int NB_THREADS = 8;
+
+    @Test
+    public void should_score_all_the_categories_of_a_game_scored_concurrently() throws Exception {
+        // given
+        ScorecardStore store = new ScorecardStore(10);
+        int game = store.newGame();
+        DiceSerie diceSerie = DiceSerie.of(6, 6, 6, 6, 6);
+        ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS);
+        List<Callable<Integer>> scorings = new ArrayList<>();
+        for (YatzyCategory category : YatzyCategory.values()) {
+            scorings.add(() -> store.score(game, category, diceSerie));
+        }
+
+        // when
+        int total = 0;
+        try {
+            for (Future<Integer> score : executor.invokeAll(scorings)) {
+                total += score.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        Scorecard scorecard = store.getScorecard(game);
+        assertThat(scorecard.isComplete()).isTrue();
+        assertThat(scorecard.getTotal()).isEqualTo(total + scorecard.getUpperSectionBonus());
+    }
+
+    @Test
+    public void should_score_a_category_only_once_when_scored_concurrently() throws Exception {
+        // given
+        ScorecardStore store = new ScorecardStore(10);
+        int game = store.newGame();
+        AtomicInteger nbScorings = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS);
+        List<Callable<Void>> scorings = new ArrayList<>();
+        for (int thread = 0; thread < NB_THREADS; thread++) {
+            scorings.add(() -> {
+                try {
+                    store.score(game, YatzyCategory.CHANCE, DiceSerie.of(1, 2, 3, 4, 5));
+                    nbScorings.incrementAndGet();
+                } catch (FonctionalException exception) {
+                    // category already used by another thread
+                }
+                return null;
+            });
+        }
+
+        // when
+        try {
+            executor.invokeAll(scorings);
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertThat(nbScorings.get()).isEqualTo(1);
+        assertThat(store.getScorecard(game).getTotal()).isEqualTo(15);
+    }
+
+    @Test
+    public void should_throw_an_exception_starting_a_game_in_a_full_store() {
+        // given
+        ScorecardStore store = new ScorecardStore(1);
+        store.newGame();
+        ThrowableAssert.ThrowingCallable newGame = store::newGame;
+
+        // when
+        // then
+        assertThatThrownBy(newGame).isInstanceOf(IllegalStateException.class);
+        assertThat(store.getNbGames()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,133 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Test;
+
+import static loicgeo.katas.yatzy.YatzyCategory.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScorecardTest {
+
+    @Test
+    public void should_start_with_an_empty_scorecard() {
+        // given
+        // when
+        Scorecard scorecard = new Scorecard();
+
+        // then
+        assertThat(scorecard.getTotal()).isEqualTo(0);
+        assertThat(scorecard.getOpenCategories()).isEqualTo(YatzyCategory.ALL_CATEGORIES);
+        assertThat(scorecard.isComplete()).isFalse();
+    }
+
+    @Test
+    public void should_add_the_score_of_a_roll_and_use_its_category() throws FonctionalException {
+        // given
+        Scorecard scorecard = new Scorecard();
+
+        // when
+        int fivesScore = scorecard.score(FIVES, DiceSerie.of(5, 6, 5, 5, 2));
+        int pairScore = scorecard.score(PAIR, DiceSerie.of(3, 3, 3, 4, 4));
+
+        // then
+        assertThat(fivesScore).isEqualTo(15);
+        assertThat(pairScore).isEqualTo(8);
+        assertThat(scorecard.getUpperSectionTotal()).isEqualTo(15);
+        assertThat(scorecard.getTotal()).isEqualTo(23);
+        assertThat(scorecard.isUsed(FIVES)).isTrue();
+        assertThat(scorecard.isUsed(SIXES)).isFalse();
+        assertThat(scorecard.getUsedCategories()).isEqualTo(maskOf(FIVES, PAIR));
+    }
+
+    @Test
+    public void should_score_the_upper_section_bonus_from_63_points() throws FonctionalException {
+        // given
+        Scorecard scorecard = new Scorecard();
+        scorecard.score(SIXES, DiceSerie.of(6, 6, 6, 6, 1));
+        scorecard.score(FIVES, DiceSerie.of(5, 5, 5, 5, 1));
+        scorecard.score(FOURS, DiceSerie.of(4, 4, 4, 1, 1));
+        assertThat(scorecard.getUpperSectionBonus()).isEqualTo(0);
+
+        // when
+        scorecard.score(THREES, DiceSerie.of(3, 3, 1, 1, 1));
+
+        // then
+        assertThat(scorecard.getUpperSectionTotal()).isEqualTo(62);
+        assertThat(scorecard.getUpperSectionBonus()).isEqualTo(0);
+
+        // when
+        scorecard.score(ONES, DiceSerie.of(1, 2, 2, 2, 2));
+
+        // then
+        assertThat(scorecard.getUpperSectionTotal()).isEqualTo(63);
+        assertThat(scorecard.getUpperSectionBonus()).isEqualTo(50);
+        assertThat(scorecard.getTotal()).isEqualTo(113);
+    }
+
+    @Test
+    public void should_throw_an_exception_scoring_a_category_already_used() throws FonctionalException {
+        // given
+        Scorecard scorecard = new Scorecard();
+        scorecard.score(CHANCE, DiceSerie.of(1, 2, 3, 4, 5));
+        ThrowableAssert.ThrowingCallable scoring = () -> scorecard.score(CHANCE, DiceSerie.of(6, 6, 6, 6, 6));
+
+        // when
+        // then
+        assertThatThrownBy(scoring).isInstanceOf(FonctionalException.class).hasMessageContaining("CHANCE");
+        assertThat(scorecard.getTotal()).isEqualTo(15);
+    }
+
+    @Test
+    public void should_restore_a_scorecard_from_its_state() throws FonctionalException {
+        // given
+        Scorecard scorecard = new Scorecard();
+        for (YatzyCategory category : YatzyCategory.values()) {
+            scorecard.score(category, DiceSerie.of(6, 6, 6, 6, 6));
+        }
+
+        // when
+        Scorecard restored = Scorecard.fromState(scorecard.getState());
+
+        // then
+        assertThat(restored.isComplete()).isTrue();
+        assertThat(restored.getTotal()).isEqualTo(scorecard.getTotal());
+    }
+
+    @Test
+    public void should_refuse_to_restore_a_scorecard_from_an_impossible_state() {
+        // given
+        long categoryPastTheLastOne = 1L << YatzyCategory.values().length;
+        long unusedBit = 1L << 63;
+
+        // when
+        // then
+        assertThat(Scorecard.isPossibleState(YATZY.mask())).isTrue();
+        assertThatThrownBy(() -> Scorecard.fromState(categoryPastTheLastOne)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Scorecard.fromState(unusedBit)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_have_the_best_total_of_the_yatzy_rule_set() {
+        // given
+        // when
+        // then
+        assertThat(Scorecard.MAX_TOTAL).isEqualTo(RuleSet.YATZY.getMaxScore());
+    }
+
+    @Test
+    public void should_record_a_score_already_computed() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(4, 4, 4, 2, 2);
+
+        // when
+        long state = Scorecard.score(0, FULL_HOUSE, FULL_HOUSE.score(diceSerie));
+
+        // then
+        assertThat(state).isEqualTo(Scorecard.score(0, FULL_HOUSE, diceSerie));
+        assertThatThrownBy(() -> Scorecard.score(state, FULL_HOUSE, 16)).isInstanceOf(FonctionalException.class);
+        assertThatThrownBy(() -> Scorecard.score(state, CHANCE, 51)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,63 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch scoring with the Vector API, from the classes for Java 17+ of the multi-release jar: run by failsafe on the
+ * packaged jar, with the module {@code jdk.incubator.vector} added and the vector scoring asked for, when built with a
+ * JDK 17+ ({@code mvn verify}).
+ */
+public class VectorBatchScorerIT {
+
+    @Test
+    public void should_score_with_the_vector_api() {
+        // given
+        // when
+        // then
+        assertThat(BatchScorer.isVectorized()).isTrue();
+    }
+
+    @Test
+    public void should_score_every_roll_in_batch_as_the_scoring_rules() {
+        // given
+        DifferentialScoring.BatchScorer vectorScorer = YatzyCategory::scoreAll;
+
+        // when
+        List<String> mismatches = DifferentialScoring.compareExhaustively(vectorScorer);
+
+        // then
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    public void should_score_the_rolls_after_the_last_full_vector() throws FonctionalException {
+        // given
+        YatzyCategory[] categories = YatzyCategory.values();
+        for (int nbRolls = 1; nbRolls <= 33; nbRolls++) {
+            byte[] values = new byte[nbRolls * DiceSerie.NB_DICE];
+            for (int value = 0; value < values.length; value++) {
+                values[value] = (byte) (value * 7 % 6 + 1);
+            }
+            int[] scores = new int[nbRolls * categories.length];
+
+            // when
+            YatzyCategory.scoreAll(values, categories, scores);
+
+            // then
+            for (int roll = 0; roll < nbRolls; roll++) {
+                int offset = roll * DiceSerie.NB_DICE;
+                DiceSerie diceSerie = DiceSerie.of(values[offset], values[offset + 1], values[offset + 2], values[offset + 3], values[offset + 4]);
+                for (YatzyCategory category : categories) {
+                    assertThat(scores[roll * categories.length + category.ordinal()]).as("%s of roll #%d of %d", category, roll, nbRolls)
+                            .isEqualTo(BaselineRules.score(category, diceSerie));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Test;
+
+import static loicgeo.katas.yatzy.YatzyCategory.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class YatzyCategoryTest {
+
+    @Test
+    public void should_score_every_ordered_roll_as_the_baseline_rules() {
+        // given
+        // when
+        // then
+        for (int orderedRoll = 0; orderedRoll < RollIndex.NB_ORDERED_ROLLS; orderedRoll++) {
+            DiceSerie diceSerie = DiceSerie.ofOrderedRoll(orderedRoll);
+            for (YatzyCategory category : YatzyCategory.values()) {
+                int baselineScore = BaselineRules.score(category, diceSerie);
+                assertThat(category.referenceScore(diceSerie)).as("%s reference score of roll #%d", category, orderedRoll)
+                        .isEqualTo(baselineScore);
+                assertThat(category.score(diceSerie)).as("%s score of roll #%d", category, orderedRoll)
+                        .isEqualTo(baselineScore);
+            }
+        }
+    }
+
+    @Test
+    public void should_score_several_rolls_in_a_single_call() throws FonctionalException {
+        // given
+        byte[] values = {1, 1, 3, 3, 6, 4, 5, 5, 6, 1, 2, 2, 2, 2, 2};
+        int[] scores = new int[3];
+
+        // when
+        CHANCE.scoreAll(values, scores);
+
+        // then
+        assertThat(scores).containsExactly(14, 21, 10);
+    }
+
+    @Test
+    public void should_score_several_rolls_for_several_categories_in_a_single_call() throws FonctionalException {
+        // given
+        byte[] values = {6, 2, 2, 2, 6, 2, 3, 4, 5, 6};
+        int[] scores = new int[6];
+
+        // when
+        YatzyCategory.scoreAll(values, new YatzyCategory[]{FULL_HOUSE, LARGE_STRAIGHT, TWOS}, scores);
+
+        // then
+        assertThat(scores).containsExactly(18, 0, 6, 0, 20, 2);
+    }
+
+    @Test
+    public void should_throw_an_exception_scoring_several_rolls_having_a_not_allowed_value() {
+        // given
+        byte[] values = {1, 1, 3, 3, 6, 4, 5, 7, 6, 1};
+        int[] scores = {-1, -1};
+        ThrowableAssert.ThrowingCallable scoring = () -> CHANCE.scoreAll(values, scores);
+
+        // when
+        // then
+        assertThatThrownBy(scoring).isInstanceOf(FonctionalException.class).hasMessageContaining(
+                "Wrong dice values for roll #2");
+        assertThat(scores).containsExactly(-1, -1);
+    }
+
+    @Test
+    public void should_choose_the_category_of_the_best_score() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(1, 3, 4, 6, 6);
+
+        // when
+        YatzyCategory best = YatzyCategory.best(diceSerie);
+
+        // then
+        assertThat(best).isEqualTo(CHANCE);
+        for (YatzyCategory category : YatzyCategory.values()) {
+            assertThat(category.score(diceSerie)).isLessThanOrEqualTo(best.score(diceSerie));
+        }
+    }
+
+    @Test
+    public void should_choose_the_category_of_the_best_score_among_the_open_ones() throws FonctionalException {
+        // given
+        Yatzy yatzy = Yatzy.of(4, 4, 4, 4, 4);
+        int openCategories = YatzyCategory.ALL_CATEGORIES & ~maskOf(YATZY, CHANCE);
+
+        // when
+        YatzyCategory best = yatzy.bestCategory(openCategories);
+
+        // then
+        assertThat(yatzy.bestCategory()).isEqualTo(YATZY);
+        assertThat(best).isEqualTo(FOURS);
+        assertThat(YatzyCategory.best(DiceSerie.of(1, 2, 2, 6, 6), maskOf(ONES, THREES, SMALL_STRAIGHT))).isEqualTo(ONES);
+    }
+
+    @Test
+    public void should_throw_an_exception_choosing_the_best_category_without_open_category() {
+        // given
+        ThrowableAssert.ThrowingCallable choice = () -> YatzyCategory.best(DiceSerie.of(1, 2, 2, 6, 6), 0);
+
+        // when
+        // then
+        assertThatThrownBy(choice).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,119 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import loicgeo.katas.yatzy.service.Tournament;
+import loicgeo.katas.yatzy.service.TournamentService;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Metrics collected by the entry points of the scoring, in a JVM started with the metrics enabled: run by the
+ * {@code metrics} execution of surefire only.
+ */
+public class YatzyMetricsEnabledTest {
+
+    private final YatzyMetrics metrics = YatzyMetrics.getInstance();
+
+    @Before
+    public void setUp() {
+        assumeTrue(YatzyMetrics.isEnabled());
+        metrics.reset();
+    }
+
+    @Test
+    public void should_count_each_scoring_of_a_scorecard_once() throws FonctionalException {
+        // given
+        Scorecard scorecard = new Scorecard();
+        ScorecardStore store = new ScorecardStore(1);
+        int game = store.newGame();
+
+        // when
+        scorecard.score(YatzyCategory.ONES, DiceSerie.of(1, 1, 6, 6, 6));
+        store.score(game, YatzyCategory.CHANCE, DiceSerie.of(1, 1, 6, 6, 6));
+        store.scoreAndGetState(game, YatzyCategory.SIXES, DiceSerie.of(1, 1, 6, 6, 6));
+
+        // then
+        assertThat(metrics.getScoreCountByCategory())
+                .containsEntry("ONES", 1L)
+                .containsEntry("CHANCE", 1L)
+                .containsEntry("SIXES", 1L)
+                .containsEntry("YATZY", 0L);
+    }
+
+    @Test
+    public void should_count_the_rolls_scored_in_batch_and_time_the_call() throws FonctionalException {
+        // given
+        byte[] values = {1, 1, 3, 3, 6, 4, 5, 5, 6, 1};
+        int[] scores = new int[4];
+
+        // when
+        YatzyCategory.scoreAll(values, new YatzyCategory[]{YatzyCategory.PAIR, YatzyCategory.CHANCE}, scores);
+
+        // then
+        assertThat(metrics.getScoreCount(YatzyCategory.PAIR)).isEqualTo(2);
+        assertThat(metrics.getScoreCount(YatzyCategory.CHANCE)).isEqualTo(2);
+        assertThat(metrics.getBatchScoreCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_count_each_scoring_of_a_tournament_once() throws Exception {
+        // given
+        try (TournamentService service = new TournamentService(1, 16, 4)) {
+            Tournament tournament = service.createTournament("metrics", 1);
+            int game = tournament.newGame();
+
+            // when
+            service.submit(tournament, game, DiceSerie.of(2, 2, 3, 3, 3), YatzyCategory.FULL_HOUSE).get();
+
+            // then
+            assertThat(metrics.getScoreCount(YatzyCategory.FULL_HOUSE)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void should_count_each_scoring_of_a_shared_yatzy() throws FonctionalException {
+        // given
+        Yatzy yatzy = Yatzy.of(5, 5, 5, 5, 5);
+
+        // when
+        yatzy.scoreRoll(YatzyCategory.YATZY);
+        Yatzy.of(5, 5, 5, 5, 5).scoreRoll(YatzyCategory.YATZY);
+
+        // then
+        assertThat(metrics.getScoreCount(YatzyCategory.YATZY)).isEqualTo(2);
+    }
+
+    @Test
+    public void should_not_count_the_scorings_of_the_yatzy_rule_set_table() {
+        // given
+        // when
+        int maxScore = RuleSet.YATZY.getMaxScore();
+        RuleSet.yatzy();
+
+        // then
+        assertThat(maxScore).isPositive();
+        assertThat(metrics.getScoreCountByCategory().values()).containsOnly(0L);
+    }
+
+    @Test
+    public void should_count_the_invalid_rolls_given_to_yatzy() {
+        // given
+        Yatzy.setInvalidRollLogging(InvalidRollLogging.NONE);
+
+        // when
+        try {
+            assertThatThrownBy(() -> Yatzy.of(0, 1, 2, 3, 4)).isInstanceOf(FonctionalException.class);
+            assertThat(Yatzy.tryOf(0, 1, 2, 3, 4)).isEmpty();
+        } finally {
+            Yatzy.setInvalidRollLogging(InvalidRollLogging.EACH);
+        }
+
+        // then
+        assertThat(metrics.getInvalidRollCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,65 @@
+package loicgeo.katas.yatzy;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class YatzyMetricsTest {
+
+    @Test
+    public void should_count_the_scorings_by_category_and_the_invalid_rolls() {
+        // given
+        YatzyMetrics metrics = new YatzyMetrics();
+
+        // when
+        metrics.recordScore(YatzyCategory.CHANCE);
+        metrics.recordBatchScore(new YatzyCategory[]{YatzyCategory.CHANCE, YatzyCategory.SIXES}, 3, 40);
+        metrics.recordScore(YatzyCategory.SIXES);
+        metrics.recordInvalidRoll();
+
+        // then
+        assertThat(metrics.getScoreCount(YatzyCategory.CHANCE)).isEqualTo(4);
+        assertThat(metrics.getScoreCountByCategory())
+                .hasSize(YatzyCategory.values().length)
+                .containsEntry("SIXES", 4L)
+                .containsEntry("YATZY", 0L);
+        assertThat(metrics.getInvalidRollCount()).isEqualTo(1);
+        assertThat(metrics.getBatchScoreCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_give_the_percentiles_of_the_batch_scoring_latencies() {
+        // given
+        YatzyMetrics metrics = new YatzyMetrics();
+        YatzyCategory[] pair = {YatzyCategory.PAIR};
+
+        // when
+        for (int i = 0; i < 99; i++) {
+            metrics.recordBatchScore(pair, 1, 20);
+        }
+        metrics.recordBatchScore(pair, 1, 5000);
+
+        // then
+        assertThat(metrics.getBatchScoreLatencyHistogram()[4]).isEqualTo(99);
+        assertThat(metrics.getBatchScoreLatencyPercentile(50)).isEqualTo(31);
+        assertThat(metrics.getBatchScoreLatencyPercentile(99)).isEqualTo(31);
+        assertThat(metrics.getBatchScoreLatencyPercentile(100)).isEqualTo(8191);
+    }
+
+    @Test
+    public void should_reset_the_metrics() {
+        // given
+        YatzyMetrics metrics = new YatzyMetrics();
+        metrics.recordBatchScore(new YatzyCategory[]{YatzyCategory.ONES}, 1, 10);
+        metrics.recordInvalidRoll();
+
+        // when
+        metrics.reset();
+
+        // then
+        assertThat(metrics.getScoreCount(YatzyCategory.ONES)).isZero();
+        assertThat(metrics.getInvalidRollCount()).isZero();
+        assertThat(metrics.getBatchScoreLatencyPercentile(99)).isZero();
+    }
+
+}
@@ -0,0 +1,87 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class YatzyOddsTest {
+
+    @Test
+    public void should_give_the_odds_of_a_whole_turn() throws FonctionalException {
+        // given
+        int[] heldValues = {};
+
+        // when
+        YatzyOdds odds = YatzyOdds.of(heldValues, YatzyOdds.MAX_ROLLS_LEFT);
+
+        // then
+        assertThat(odds.getProbability(YatzyCategory.YATZY)).isCloseTo(0.046029, within(1e-6));
+        assertThat(odds.getExpectedScore(YatzyCategory.YATZY)).isCloseTo(50 * 0.046029, within(1e-4));
+        assertThat(odds.getProbability(YatzyCategory.CHANCE)).isCloseTo(1.0, within(1e-12));
+        assertThat(odds.getExpectedScore(YatzyCategory.CHANCE)).isCloseTo(70.0 / 3, within(1e-9));
+    }
+
+    @Test
+    public void should_give_the_odds_of_the_last_roll_of_the_dice_not_held() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(6, 2, 6, 3, 6);
+
+        // when
+        YatzyOdds odds = YatzyOdds.of(diceSerie, 0b10101, 1);
+
+        // then
+        assertThat(odds.getProbability(YatzyCategory.YATZY)).isCloseTo(1.0 / 36, within(1e-12));
+        assertThat(odds.getProbability(YatzyCategory.FOUR_Of_A_KIND)).isCloseTo(11.0 / 36, within(1e-12));
+        assertThat(odds.getExpectedScore(YatzyCategory.SIXES)).isCloseTo(18 + 2 * 6.0 / 6, within(1e-12));
+        assertThat(odds.getProbability(YatzyCategory.SMALL_STRAIGHT)).isZero();
+    }
+
+    @Test
+    public void should_give_the_scores_of_a_roll_without_roll_left() throws FonctionalException {
+        // given
+        int[] heldValues = {2, 3, 4, 5, 6};
+
+        // when
+        YatzyOdds odds = YatzyOdds.of(heldValues, 0);
+
+        // then
+        assertThat(odds.getProbability(YatzyCategory.LARGE_STRAIGHT)).isEqualTo(1.0);
+        assertThat(odds.getExpectedScore(YatzyCategory.LARGE_STRAIGHT)).isEqualTo(20.0);
+        assertThat(odds.getProbability(YatzyCategory.ONES)).isZero();
+    }
+
+    @Test
+    public void should_share_the_odds_of_a_same_multiset_of_held_dice() throws FonctionalException {
+        // given
+        DiceSerie diceSerie = DiceSerie.of(5, 1, 1, 4, 2);
+
+        // when
+        YatzyOdds odds = YatzyOdds.of(diceSerie, 0b00111, 2);
+
+        // then
+        assertThat(odds).isSameAs(YatzyOdds.of(new int[]{1, 5, 1}, 2));
+    }
+
+    @Test
+    public void should_throw_an_exception_for_a_wrong_held_value() {
+        // given
+        ThrowableAssert.ThrowingCallable odds = () -> YatzyOdds.of(new int[]{1, 7}, 2);
+
+        // when
+        // then
+        assertThatThrownBy(odds).isInstanceOf(FonctionalException.class).hasMessageContaining("Wrong held value: 7");
+    }
+
+    @Test
+    public void should_throw_an_exception_without_roll_left_for_dice_not_held() {
+        // given
+        ThrowableAssert.ThrowingCallable odds = () -> YatzyOdds.of(new int[]{1, 2}, 0);
+
+        // when
+        // then
+        assertThatThrownBy(odds).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
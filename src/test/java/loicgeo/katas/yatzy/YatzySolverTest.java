@@ -0,0 +1,117 @@
+package loicgeo.katas.yatzy;
+
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static loicgeo.katas.yatzy.YatzyCategory.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class YatzySolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final YatzySolver solver = new YatzySolver();
+
+    private static Scorecard scorecardWithOpenCategories(YatzyCategory... openCategories) throws FonctionalException {
+        Scorecard scorecard = new Scorecard();
+        int open = maskOf(openCategories);
+        for (YatzyCategory category : YatzyCategory.values()) {
+            if ((open & category.mask()) == 0) {
+                scorecard.score(category, DiceSerie.of(1, 2, 3, 4, 6));
+            }
+        }
+        return scorecard;
+    }
+
+    @Test
+    public void should_expect_the_optimal_chance_score_for_a_last_chance_turn() throws FonctionalException {
+        // given
+        Scorecard scorecard = scorecardWithOpenCategories(CHANCE);
+
+        // when
+        double expectedFinalScore = solver.expectedFinalScore(scorecard);
+
+        // then
+        // keeping 5 and 6 before the last reroll, and 4 to 6 before the first one
+        assertThat(expectedFinalScore - scorecard.getTotal()).isCloseTo(70.0 / 3, within(1e-4));
+    }
+
+    @Test
+    public void should_expect_the_yatzy_probability_for_a_last_yatzy_turn() throws FonctionalException {
+        // given
+        Scorecard scorecard = scorecardWithOpenCategories(YATZY);
+
+        // when
+        double expectedFinalScore = solver.expectedFinalScore(scorecard);
+
+        // then
+        assertThat(expectedFinalScore - scorecard.getTotal()).isCloseTo(50 * 0.046029, within(1e-4));
+    }
+
+    @Test
+    public void should_hold_the_dice_of_the_only_open_value() throws FonctionalException {
+        // given
+        Scorecard scorecard = scorecardWithOpenCategories(SIXES);
+
+        // when
+        int holdMask = solver.bestHold(scorecard, DiceSerie.of(6, 6, 1, 2, 6), 2);
+
+        // then
+        assertThat(holdMask).isEqualTo(0b10011);
+    }
+
+    @Test
+    public void should_choose_the_category_maximizing_the_expected_final_score() throws FonctionalException {
+        // given
+        Scorecard scorecard = scorecardWithOpenCategories(YATZY, CHANCE, FIVES);
+
+        // when
+        // then
+        assertThat(solver.bestCategory(scorecard, DiceSerie.of(6, 6, 6, 6, 6))).isEqualTo(YATZY);
+        assertThat(solver.bestCategory(scorecard, DiceSerie.of(5, 5, 5, 5, 1))).isEqualTo(FIVES);
+    }
+
+    @Test
+    public void should_read_the_expected_scores_from_a_saved_file() throws FonctionalException, IOException {
+        // given
+        Scorecard scorecard = scorecardWithOpenCategories(YATZY, CHANCE);
+        double expectedFinalScore = solver.expectedFinalScore(scorecard);
+        Path file = temporaryFolder.getRoot().toPath().resolve("strategy.bin");
+        solver.save(file);
+
+        // when
+        YatzySolver loadedSolver = YatzySolver.load(file);
+
+        // then
+        assertThat(loadedSolver.expectedFinalScore(scorecard)).isEqualTo(expectedFinalScore);
+        assertThat(loadedSolver.bestCategory(scorecard, DiceSerie.of(6, 6, 6, 6, 6))).isEqualTo(YATZY);
+    }
+
+    @Test
+    public void should_reject_an_outdated_file() throws IOException {
+        // given
+        Path file = temporaryFolder.newFile("strategy.bin").toPath();
+        solver.save(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0}), 8);
+        }
+        ThrowableAssert.ThrowingCallable loading = () -> YatzySolver.load(file);
+
+        // when
+        // then
+        assertThatThrownBy(loading).isInstanceOf(IOException.class).hasMessageContaining("Outdated strategy file");
+    }
+
+}
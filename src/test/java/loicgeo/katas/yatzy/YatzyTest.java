@@ -7,6 +7,16 @@ import org.assertj.core.api.ThrowableAssert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import static java.text.MessageFormat.format;
@@ -30,6 +40,115 @@ public class YatzyTest {
                 .hasMessageContaining("Wrong dice values");
     }
 
+    @Test
+    public void should_throw_an_functional_exception_for_a_wrong_shared_dice_serie() {
+        // given
+        ThrowableAssert.ThrowingCallable yatzyInstantiation = () -> Yatzy.of(1, 3, 4, 5, -1);
+
+        // when
+        // then
+        assertThatThrownBy(yatzyInstantiation)
+                .isInstanceOf(FonctionalException.class)
+                .hasMessageContaining("Wrong dice values");
+    }
+
+    @Test
+    public void should_share_the_same_Yatzy_instance_for_the_same_roll() throws FonctionalException {
+        // given
+        // when
+        Yatzy yatzy = Yatzy.of(3, 3, 4, 5, 1);
+        // then
+        assertThat(yatzy).isSameAs(Yatzy.of(3, 3, 4, 5, 1));
+        assertThat(yatzy.scoreRoll(CHANCE)).isEqualTo(16);
+    }
+
+    @Test
+    public void should_get_an_empty_Yatzy_for_a_wrong_dice_serie_without_exception() throws FonctionalException {
+        // given
+        // when
+        // then
+        assertThat(Yatzy.tryOf(1, 3, 4, 5, 9)).isEmpty();
+        assertThat(Yatzy.tryOf(1, 3, 4, 5, 6)).containsSame(Yatzy.of(1, 3, 4, 5, 6));
+    }
+
+    @Test
+    public void should_log_the_number_of_wrong_dice_series_counted_when_flushed() {
+        // given
+        List<LogRecord> records = new ArrayList<>();
+        Handler handler = new RecordingHandler(records);
+        Logger logger = Logger.getLogger(Yatzy.class.getName());
+        Yatzy.setInvalidRollLogging(InvalidRollLogging.AGGREGATED);
+        Yatzy.flushInvalidRollLogging();
+        logger.addHandler(handler);
+
+        // when
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> new Yatzy(0, 3, 4, 5, 1)).isInstanceOf(FonctionalException.class);
+            }
+            Yatzy.flushInvalidRollLogging();
+        } finally {
+            Yatzy.setInvalidRollLogging(InvalidRollLogging.EACH);
+            logger.removeHandler(handler);
+        }
+
+        // then
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getThrown()).isNull();
+        assertThat(records.get(0).getParameters()[0]).isEqualTo(3L);
+    }
+
+    @Test
+    public void should_log_a_single_aggregated_line_per_minute() {
+        // given
+        List<LogRecord> records = new ArrayList<>();
+        Logger logger = Logger.getAnonymousLogger();
+        Handler handler = new RecordingHandler(records);
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+        long start = System.nanoTime();
+        FonctionalException invalidRoll = new FonctionalException("Wrong dice values");
+        InvalidRollLogging.AGGREGATED.flush(logger, start);
+
+        // when
+        try {
+            for (int second = 1; second < 60; second += 10) {
+                InvalidRollLogging.AGGREGATED.log(logger, invalidRoll, start + TimeUnit.SECONDS.toNanos(second));
+            }
+            InvalidRollLogging.AGGREGATED.log(logger, invalidRoll, start + TimeUnit.SECONDS.toNanos(61));
+            InvalidRollLogging.AGGREGATED.log(logger, invalidRoll, start + TimeUnit.SECONDS.toNanos(62));
+        } finally {
+            logger.removeHandler(handler);
+            InvalidRollLogging.AGGREGATED.flush(logger);
+        }
+
+        // then
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getParameters()[0]).isEqualTo(7L);
+    }
+
+    @Test
+    public void should_log_each_wrong_dice_serie_for_an_unknown_logging_property() {
+        // given
+        List<LogRecord> records = new ArrayList<>();
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new RecordingHandler(records));
+        System.setProperty(InvalidRollLogging.PROPERTY, "SOMETIMES");
+
+        // when
+        InvalidRollLogging logging;
+        try {
+            logging = InvalidRollLogging.fromSystemProperty(logger);
+        } finally {
+            System.clearProperty(InvalidRollLogging.PROPERTY);
+        }
+
+        // then
+        assertThat(logging).isEqualTo(InvalidRollLogging.EACH);
+        assertThat(records).extracting(LogRecord::getLevel).containsExactly(Level.WARNING);
+    }
+
     @Test
     public void should_score_a_dice_serie_for_a_chance_roll() throws FonctionalException {
         // given
@@ -323,5 +442,88 @@ public class YatzyTest {
         // then
         assertThat(score).isEqualTo(0);
     }
-    
+
+    @Test
+    public void should_get_the_shared_yatzy_of_a_reroll() throws FonctionalException {
+        // given
+        Yatzy yatzy = Yatzy.of(1, 4, 4, 2, 4);
+        // when
+        Yatzy rerolledYatzy = yatzy.reroll(0b10110, 4, 4);
+        // then
+        assertThat(rerolledYatzy).isSameAs(Yatzy.of(4, 4, 4, 4, 4));
+        assertThat(rerolledYatzy.scoreRoll(YATZY)).isEqualTo(50);
+    }
+
+    @Test
+    public void should_log_a_wrong_rerolled_value_but_not_a_wrong_number_of_new_values() throws FonctionalException {
+        // given
+        Yatzy yatzy = Yatzy.of(1, 4, 4, 2, 4);
+        List<LogRecord> records = new ArrayList<>();
+        Handler handler = new RecordingHandler(records);
+        Logger logger = Logger.getLogger(Yatzy.class.getName());
+        logger.addHandler(handler);
+
+        // when
+        try {
+            assertThatThrownBy(() -> yatzy.reroll(0b10110, 4)).isInstanceOf(FonctionalException.class);
+            assertThatThrownBy(() -> yatzy.reroll(0b10110, 4, 7)).isInstanceOf(FonctionalException.class);
+        } finally {
+            logger.removeHandler(handler);
+        }
+
+        // then
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getThrown()).hasMessageContaining("7");
+    }
+
+    @Test
+    public void should_get_the_same_scores_from_concurrent_threads() throws Exception {
+        // given
+        Yatzy yatzy = new Yatzy(3, 3, 3, 5, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<int[]>> allScores = new ArrayList<>();
+
+        // when
+        for (int task = 0; task < 16; task++) {
+            allScores.add(executor.submit(() -> {
+                int[] scores = new int[YatzyCategory.values().length];
+                for (YatzyCategory category : YatzyCategory.values()) {
+                    scores[category.ordinal()] = yatzy.scoreRoll(category);
+                }
+                return scores;
+            }));
+        }
+        executor.shutdown();
+
+        // then
+        for (Future<int[]> scores : allScores) {
+            for (YatzyCategory category : YatzyCategory.values()) {
+                assertThat(scores.get()[category.ordinal()]).isEqualTo(category.score(DiceSerie.of(3, 3, 3, 5, 5)));
+            }
+        }
+        assertThat(yatzy.scoreRoll(THREES)).isEqualTo(9);
+    }
+
+    private static final class RecordingHandler extends Handler {
+
+        private final List<LogRecord> records;
+
+        private RecordingHandler(List<LogRecord> records) {
+            this.records = records;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
 }
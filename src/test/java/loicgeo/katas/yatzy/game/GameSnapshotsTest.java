@@ -0,0 +1,249 @@
+package loicgeo.katas.yatzy.game;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GameSnapshotsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_read_a_snapshot_in_place() throws FonctionalException {
+        // given
+        MultiplayerGame game = new MultiplayerGame(42, "Alice", "Bob");
+        game.roll(DiceSerie.of(6, 6, 2, 6, 1));
+        game.score(YatzyCategory.SIXES);
+        game.roll(DiceSerie.of(1, 2, 3, 4, 4));
+        game.reroll(0b01111, 5);
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshots.size(game));
+
+        // when
+        GameSnapshots.write(game, buffer);
+        buffer.flip();
+        GameSnapshot snapshot = GameSnapshots.read(buffer);
+
+        // then
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(snapshot.getId()).isEqualTo(42);
+        assertThat(snapshot.getNbPlayers()).isEqualTo(2);
+        assertThat(snapshot.getPlayer(1)).isEqualTo("Bob");
+        assertThat(snapshot.getCurrentPlayer()).isEqualTo(1);
+        assertThat(snapshot.getRollCount()).isEqualTo(2);
+        assertThat(snapshot.getCurrentRoll()).isSameAs(DiceSerie.of(1, 2, 3, 4, 5));
+        assertThat(snapshot.getScore(0, YatzyCategory.SIXES)).isEqualTo(18);
+        assertThat(snapshot.getTotal(0)).isEqualTo(18);
+        assertThat(snapshot.getSize()).isEqualTo(GameSnapshots.size(game));
+    }
+
+    @Test
+    public void should_restore_a_game_and_go_on_playing() throws FonctionalException {
+        // given
+        MultiplayerGame game = new MultiplayerGame(7, "Alice");
+        game.roll(DiceSerie.of(3, 3, 3, 3, 3));
+        game.score(YatzyCategory.YATZY);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(GameSnapshots.size(game));
+        GameSnapshots.write(game, buffer);
+        buffer.flip();
+
+        // when
+        MultiplayerGame restoredGame = GameSnapshots.read(buffer).restore();
+        restoredGame.roll(DiceSerie.of(1, 2, 3, 4, 5));
+
+        // then
+        assertThat(restoredGame.getScore(0, YatzyCategory.YATZY)).isEqualTo(50);
+        assertThat(restoredGame.score(YatzyCategory.SMALL_STRAIGHT)).isEqualTo(15);
+        assertThat(restoredGame.getScorecard(0).getTotal()).isEqualTo(65);
+        assertThatThrownBy(() -> restoredGame.score(YatzyCategory.CHANCE)).isInstanceOf(FonctionalException.class);
+    }
+
+    @Test
+    public void should_restore_games_from_a_snapshot_file_and_a_journal() throws Exception {
+        // given
+        Path snapshotFile = temporaryFolder.getRoot().toPath().resolve("games.snapshot");
+        Path journalFile = temporaryFolder.getRoot().toPath().resolve("games.journal");
+        List<MultiplayerGame> games = new ArrayList<>();
+        for (long id = 0; id < 1000; id++) {
+            games.add(new MultiplayerGame(id, "Alice", "Bob", "Carol"));
+        }
+        try (GameJournal journal = GameJournal.open(journalFile)) {
+            playTurns(games, journal, 4);
+            GameSnapshots.save(games, snapshotFile);
+            playTurns(games, journal, 5);
+        }
+
+        // when
+        Map<Long, MultiplayerGame> restoredGames = new HashMap<>();
+        for (GameSnapshot snapshot : GameSnapshots.load(snapshotFile)) {
+            restoredGames.put(snapshot.getId(), snapshot.restore());
+        }
+        int nbAppliedEvents = GameJournal.replay(journalFile, restoredGames);
+
+        // then
+        assertThat(nbAppliedEvents).isEqualTo(1000 * 5);
+        for (MultiplayerGame game : games) {
+            MultiplayerGame restoredGame = restoredGames.get(game.getId());
+            assertThat(restoredGame.getTurn()).isEqualTo(9);
+            assertThat(restoredGame.getCurrentPlayer()).isEqualTo(0);
+            for (int player = 0; player < 3; player++) {
+                assertThat(restoredGame.getScorecard(player).getState()).isEqualTo(game.getScorecard(player).getState());
+            }
+        }
+    }
+
+    @Test
+    public void should_throw_an_exception_reading_bytes_not_being_a_snapshot() {
+        // given
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[32]);
+
+        // when
+        // then
+        assertThatThrownBy(() -> GameSnapshots.read(buffer)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_throw_an_exception_reading_a_snapshot_with_a_corrupted_current_player() throws FonctionalException {
+        // given
+        ByteBuffer buffer = snapshotOf(new MultiplayerGame(1, "Alice", "Bob"));
+        buffer.put(GameSnapshots.CURRENT_PLAYER_OFFSET, (byte) 2);
+
+        // when
+        // then
+        assertThatThrownBy(() -> GameSnapshots.read(buffer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Corrupted game snapshot");
+    }
+
+    @Test
+    public void should_throw_an_exception_reading_a_snapshot_with_a_negative_name_length() throws FonctionalException {
+        // given
+        ByteBuffer buffer = snapshotOf(new MultiplayerGame(1, "Alice", "Bob"));
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putShort(GameSnapshots.namesOffset(2), (short) -1);
+
+        // when
+        // then
+        assertThatThrownBy(() -> GameSnapshots.read(buffer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Corrupted game snapshot");
+    }
+
+    @Test
+    public void should_throw_an_exception_reading_a_snapshot_with_a_current_roll_but_no_roll_count() throws FonctionalException {
+        // given
+        MultiplayerGame game = new MultiplayerGame(1, "Alice");
+        game.roll(DiceSerie.of(1, 2, 3, 4, 5));
+        ByteBuffer buffer = snapshotOf(game);
+        buffer.put(GameSnapshots.ROLL_COUNT_OFFSET, (byte) 0);
+
+        // when
+        // then
+        assertThatThrownBy(() -> GameSnapshots.read(buffer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Corrupted game snapshot");
+    }
+
+    @Test
+    public void should_throw_an_exception_reading_a_snapshot_with_a_category_past_the_last_one() throws FonctionalException {
+        // given
+        ByteBuffer buffer = snapshotOf(new MultiplayerGame(1, "Alice"));
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putLong(GameSnapshots.HEADER_SIZE, 1L << YatzyCategory.values().length);
+
+        // when
+        // then
+        assertThatThrownBy(() -> GameSnapshots.read(buffer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Corrupted game snapshot");
+    }
+
+    @Test
+    public void should_throw_an_exception_reading_a_snapshot_with_a_score_not_in_the_totals() throws FonctionalException {
+        // given
+        MultiplayerGame game = new MultiplayerGame(1, "Alice");
+        game.roll(DiceSerie.of(6, 6, 6, 2, 1));
+        game.score(YatzyCategory.SIXES);
+        ByteBuffer buffer = snapshotOf(game);
+        buffer.put(GameSnapshots.HEADER_SIZE + Long.BYTES + YatzyCategory.SIXES.ordinal(), (byte) 24);
+
+        // when
+        // then
+        assertThatThrownBy(() -> GameSnapshots.read(buffer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Corrupted game snapshot");
+    }
+
+    @Test
+    public void should_throw_an_exception_reading_a_snapshot_with_a_current_player_out_of_turn() throws FonctionalException {
+        // given
+        MultiplayerGame game = new MultiplayerGame(1, "Alice", "Bob", "Carol");
+        game.roll(DiceSerie.of(6, 6, 6, 2, 1));
+        game.score(YatzyCategory.SIXES);
+        ByteBuffer buffer = snapshotOf(game);
+        buffer.put(GameSnapshots.CURRENT_PLAYER_OFFSET, (byte) 2);
+
+        // when
+        // then
+        assertThatThrownBy(() -> GameSnapshots.read(buffer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Corrupted game snapshot");
+    }
+
+    @Test
+    public void should_not_score_a_game_when_the_full_journal_cannot_be_written() throws Exception {
+        // given
+        Path journalFile = temporaryFolder.getRoot().toPath().resolve("games.journal");
+        GameJournal journal = GameJournal.open(journalFile);
+        journal.close();
+        MultiplayerGame game = null;
+        for (int event = 0; event < GameJournal.BUFFERED_EVENTS; event++) {
+            if (event % YatzyCategory.values().length == 0) {
+                game = new MultiplayerGame(event, "Bob");
+            }
+            game.roll(DiceSerie.of(1, 1, 1, 1, 1));
+            journal.score(game, YatzyCategory.values()[event % YatzyCategory.values().length]);
+        }
+        MultiplayerGame lastGame = new MultiplayerGame(-1, "Alice");
+        lastGame.roll(DiceSerie.of(1, 2, 3, 4, 5));
+
+        // when
+        // then
+        assertThatThrownBy(() -> journal.score(lastGame, YatzyCategory.CHANCE)).isInstanceOf(IOException.class);
+        assertThat(lastGame.getScore(0, YatzyCategory.CHANCE)).isZero();
+        assertThat(lastGame.getCurrentRoll()).isSameAs(DiceSerie.of(1, 2, 3, 4, 5));
+    }
+
+    private static ByteBuffer snapshotOf(MultiplayerGame game) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshots.size(game));
+        GameSnapshots.write(game, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    // each turn, the current player of each game rolls twice, then scores in the first open category
+    private static void playTurns(List<MultiplayerGame> games, GameJournal journal, int nbTurns) throws Exception {
+        for (int turn = 0; turn < nbTurns; turn++) {
+            for (MultiplayerGame game : games) {
+                game.roll(DiceSerie.of(1 + turn % 6, 2, 3, 1 + (int) (game.getId() % 6), 5));
+                game.reroll(0b00011, 6, 6, 1 + turn % 6);
+                int openCategories = game.getScorecard(game.getCurrentPlayer()).getOpenCategories();
+                journal.score(game, YatzyCategory.values()[Integer.numberOfTrailingZeros(openCategories)]);
+            }
+        }
+    }
+
+}
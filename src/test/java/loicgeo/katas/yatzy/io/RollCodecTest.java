@@ -0,0 +1,101 @@
+package loicgeo.katas.yatzy.io;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RollCodecTest {
+
+    @Test
+    public void should_encode_and_decode_every_ordered_roll_on_2_bytes() throws FonctionalException {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+
+        // when
+        // then
+        for (int packedValues = 0; packedValues < 1 << 15; packedValues++) {
+            DiceSerie diceSerie = DiceSerie.tryOf(packedValues & 7, packedValues >> 3 & 7, packedValues >> 6 & 7, packedValues >> 9 & 7, packedValues >> 12 & 7).orElse(null);
+            if (diceSerie != null) {
+                buffer.clear();
+                RollCodec.ORDERED.encode(diceSerie, buffer);
+                buffer.flip();
+                assertThat(RollCodec.ORDERED.decode(buffer).getValues()).containsExactlyElementsOf(diceSerie.getValues());
+            }
+        }
+    }
+
+    @Test
+    public void should_encode_and_decode_the_sorted_values_on_1_byte() throws FonctionalException {
+        // given
+        byte[] values = {6, 2, 2, 2, 6, 6, 6, 6, 6, 6};
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+        byte[] decodedValues = new byte[10];
+
+        // when
+        RollCodec.DISTINCT.encodeAll(values, buffer);
+        buffer.flip();
+        int nbRolls = RollCodec.DISTINCT.decodeAll(buffer, decodedValues);
+
+        // then
+        assertThat(nbRolls).isEqualTo(2);
+        assertThat(decodedValues).containsExactly(2, 2, 2, 6, 6, 6, 6, 6, 6, 6);
+    }
+
+    @Test
+    public void should_write_nothing_encoding_values_with_a_not_allowed_one() {
+        // given
+        byte[] values = {1, 2, 3, 4, 5, 6, 6, 6, 6, 7};
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+
+        // when
+        // then
+        assertThatThrownBy(() -> RollCodec.DISTINCT.encodeAll(values, buffer)).isInstanceOf(FonctionalException.class);
+        assertThat(buffer.position()).isZero();
+        assertThat(buffer.array()).containsOnly(0);
+    }
+
+    @Test
+    public void should_throw_an_exception_encoding_values_not_being_whole_rolls() {
+        // given
+        byte[] values = {1, 2, 3, 4, 5, 6};
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+
+        // when
+        // then
+        assertThatThrownBy(() -> RollCodec.DISTINCT.encodeAll(values, buffer)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_encode_and_decode_several_dice_series() throws FonctionalException {
+        // given
+        DiceSerie[] diceSeries = {DiceSerie.of(1, 2, 3, 4, 5), DiceSerie.of(5, 4, 3, 2, 1), DiceSerie.of(3, 1, 6, 1, 3)};
+        ByteBuffer buffer = ByteBuffer.allocate(3 * RollCodec.ORDERED.getBytesPerRoll());
+        DiceSerie[] decodedDiceSeries = new DiceSerie[3];
+
+        // when
+        RollCodec.ORDERED.encodeAll(diceSeries, 0, 3, buffer);
+        buffer.flip();
+        RollCodec.ORDERED.decodeAll(buffer, decodedDiceSeries, 0, 3);
+
+        // then
+        assertThat(decodedDiceSeries).containsExactly(diceSeries);
+    }
+
+    @Test
+    public void should_throw_an_exception_decoding_bytes_not_encoding_a_roll() {
+        // given
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{(byte) 252});
+        ThrowableAssert.ThrowingCallable decoding = () -> RollCodec.DISTINCT.decode(buffer);
+
+        // when
+        // then
+        assertThatThrownBy(decoding).isInstanceOf(FonctionalException.class).hasMessageContaining("Wrong roll index");
+    }
+
+}
@@ -0,0 +1,73 @@
+package loicgeo.katas.yatzy.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static loicgeo.katas.yatzy.YatzyCategory.CHANCE;
+import static loicgeo.katas.yatzy.YatzyCategory.YATZY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RollLogScorerTest {
+
+    private static final String LOG = "1,1,3,3,6\n"
+            + "4,5, 5,6,1\r\n"
+            + "\n"
+            + "4 ,5,5,6,1\n"
+            + "0,1,2,3,4\n"
+            + "1,2,3,4\n"
+            + "1,2,3,4,5,6\n"
+            + "12,2,3,4,5\n"
+            + "a,2,3,4,5\n"
+            + "2,2,2,2,2";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_score_the_rolls_read_from_a_channel() throws IOException {
+        // given
+        RollLogScorer scorer = new RollLogScorer(new RollLogStatistics(CHANCE, YATZY));
+
+        // when
+        RollLogStatistics statistics = scorer.score(Channels.newChannel(new ByteArrayInputStream(LOG.getBytes(StandardCharsets.US_ASCII))));
+
+        // then
+        assertThat(statistics.getNbRolls()).isEqualTo(4);
+        assertThat(statistics.getNbInvalidLines()).isEqualTo(5);
+        assertThat(statistics.getTotal(CHANCE)).isEqualTo(14 + 21 + 21 + 10);
+        assertThat(statistics.getMinimum(CHANCE)).isEqualTo(10);
+        assertThat(statistics.getMaximum(CHANCE)).isEqualTo(21);
+        assertThat(statistics.getHistogram(YATZY)[50]).isEqualTo(1);
+        assertThat(statistics.getHistogram(YATZY)[0]).isEqualTo(3);
+    }
+
+    @Test
+    public void should_score_the_rolls_of_a_file_mapped_in_memory() throws IOException {
+        // given
+        StringBuilder log = new StringBuilder();
+        for (int roll = 0; roll < 3000; roll++) {
+            log.append("6,6,6,6,").append(roll % 6 + 1).append('\n');
+        }
+        Path file = temporaryFolder.newFile("rolls.log").toPath();
+        Files.write(file, log.toString().getBytes(StandardCharsets.US_ASCII));
+        RollLogScorer scorer = new RollLogScorer(new RollLogStatistics(CHANCE, YATZY));
+
+        // when
+        RollLogStatistics statistics = scorer.score(file);
+
+        // then
+        assertThat(statistics.getNbRolls()).isEqualTo(3000);
+        assertThat(statistics.getNbInvalidLines()).isEqualTo(0);
+        assertThat(statistics.getTotal(CHANCE)).isEqualTo(3000 * 24 + 500 * 21);
+        assertThat(statistics.getTotal(YATZY)).isEqualTo(500 * 50);
+    }
+
+}
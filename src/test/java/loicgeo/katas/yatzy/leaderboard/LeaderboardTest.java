@@ -0,0 +1,128 @@
+package loicgeo.katas.yatzy.leaderboard;
+
+import loicgeo.katas.yatzy.RuleSet;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class LeaderboardTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final Leaderboard leaderboard = new Leaderboard(RuleSet.YATZY, 3, MINUTE, 60);
+
+    @Test
+    public void should_give_the_best_games_first() {
+        // given
+        leaderboard.add(1, 180, 0);
+        leaderboard.add(2, 250, 0);
+        leaderboard.add(3, 180, MINUTE);
+        leaderboard.add(4, 120, MINUTE);
+        leaderboard.add(5, 250, MINUTE);
+
+        // when
+        List<LeaderboardEntry> top = leaderboard.top(3);
+
+        // then
+        assertThat(top).extracting(LeaderboardEntry::getGame, LeaderboardEntry::getTotal)
+                .containsExactly(tuple(2L, 250), tuple(5L, 250), tuple(1L, 180));
+    }
+
+    @Test
+    public void should_give_the_best_games_and_the_distribution_of_a_time_window() {
+        // given
+        leaderboard.add(1, 300, 0);
+        leaderboard.add(2, 150, 10 * MINUTE);
+        leaderboard.add(3, 200, 10 * MINUTE + 1);
+        leaderboard.add(4, 100, 11 * MINUTE);
+
+        // when
+        List<LeaderboardEntry> top = leaderboard.top(3, 10 * MINUTE, 11 * MINUTE);
+        long[] distribution = leaderboard.getDistribution(10 * MINUTE, 12 * MINUTE);
+
+        // then
+        assertThat(top).extracting(LeaderboardEntry::getGame).containsExactly(3L, 2L);
+        assertThat(distribution[150]).isEqualTo(1);
+        assertThat(distribution[200]).isEqualTo(1);
+        assertThat(distribution[100]).isEqualTo(1);
+        assertThat(distribution[300]).isZero();
+    }
+
+    @Test
+    public void should_count_every_game_but_keep_only_the_first_ones_of_a_same_score() {
+        // given
+        for (long game = 0; game < 1000; game++) {
+            leaderboard.add(game, 200, 0);
+        }
+
+        // when
+        List<LeaderboardEntry> top = leaderboard.top(3);
+
+        // then
+        assertThat(top).extracting(LeaderboardEntry::getGame).containsExactly(0L, 1L, 2L);
+        assertThat(leaderboard.getDistribution()[200]).isEqualTo(1000);
+    }
+
+    @Test
+    public void should_forget_the_games_older_than_the_time_slots_kept() {
+        // given
+        leaderboard.add(1, 300, 0);
+
+        // when
+        leaderboard.add(2, 100, 60 * MINUTE);
+        boolean added = leaderboard.add(3, 250, MINUTE / 2);
+
+        // then
+        assertThat(added).isFalse();
+        assertThat(leaderboard.top(3)).extracting(LeaderboardEntry::getGame).containsExactly(2L);
+    }
+
+    @Test
+    public void should_refuse_a_score_not_possible_with_the_rule_set() {
+        // given
+        int total = RuleSet.YATZY.getMaxScore() + 1;
+
+        // when
+        // then
+        assertThatThrownBy(() -> leaderboard.add(1, total, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_forget_the_games_older_than_the_slots_kept_from_the_newest_one() {
+        // given
+        Leaderboard twoSlots = new Leaderboard(RuleSet.YATZY, 3, 1000, 2);
+        twoSlots.add(1, 300, 0);
+
+        // when
+        boolean newestAdded = twoSlots.add(2, 100, 101 * 1000);
+        boolean oldAdded = twoSlots.add(3, 200, 50 * 1000);
+        boolean previousAdded = twoSlots.add(4, 150, 100 * 1000);
+
+        // then
+        assertThat(newestAdded).isTrue();
+        assertThat(oldAdded).isFalse();
+        assertThat(previousAdded).isTrue();
+        assertThat(twoSlots.top(3)).extracting(LeaderboardEntry::getGame).containsExactly(4L, 2L);
+        assertThat(twoSlots.getDistribution()[300]).isZero();
+    }
+
+    @Test
+    public void should_accept_games_out_of_order_within_the_slots_kept() {
+        // given
+        leaderboard.add(1, 100, 30 * MINUTE);
+
+        // when
+        boolean olderAdded = leaderboard.add(2, 200, 5 * MINUTE);
+        boolean expiredAdded = leaderboard.add(3, 300, -30 * MINUTE);
+
+        // then
+        assertThat(olderAdded).isTrue();
+        assertThat(expiredAdded).isFalse();
+        assertThat(leaderboard.top(3)).extracting(LeaderboardEntry::getGame).containsExactly(2L, 1L);
+    }
+
+}
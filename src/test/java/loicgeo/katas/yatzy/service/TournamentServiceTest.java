@@ -0,0 +1,212 @@
+package loicgeo.katas.yatzy.service;
+
+import loicgeo.katas.yatzy.DiceSerie;
+import loicgeo.katas.yatzy.RuleSet;
+import loicgeo.katas.yatzy.YatzyCategory;
+import loicgeo.katas.yatzy.exception.FonctionalException;
+import loicgeo.katas.yatzy.leaderboard.Leaderboard;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TournamentServiceTest {
+
+    private final TournamentService service = new TournamentService(4, 1024, 64);
+
+    @After
+    public void tearDown() {
+        service.close();
+    }
+
+    @Test
+    public void should_score_the_rolls_in_the_scorecards_of_the_games() throws Exception {
+        // given
+        Tournament tournament = service.createTournament("spring cup", 10);
+        int game = tournament.newGame();
+
+        // when
+        CompletableFuture<Integer> sixes = service.submit(tournament, game, DiceSerie.of(6, 6, 6, 2, 6), YatzyCategory.SIXES);
+        CompletableFuture<Integer> chance = service.submit(tournament, game, DiceSerie.of(1, 2, 3, 4, 6), YatzyCategory.CHANCE);
+
+        // then
+        assertThat(sixes.get()).isEqualTo(24);
+        assertThat(chance.get()).isEqualTo(16);
+        assertThat(tournament.getScorecard(game).getTotal()).isEqualTo(40);
+        assertThat(service.getTournament("spring cup")).isSameAs(tournament);
+    }
+
+    @Test
+    public void should_fail_the_score_of_a_category_already_used() throws Exception {
+        // given
+        Tournament tournament = service.createTournament("spring cup", 10);
+        int game = tournament.newGame();
+        service.submit(tournament, game, DiceSerie.of(1, 1, 1, 1, 1), YatzyCategory.YATZY).get();
+
+        // when
+        CompletableFuture<Integer> score = service.submit(tournament, game, DiceSerie.of(2, 2, 2, 2, 2), YatzyCategory.YATZY);
+
+        // then
+        assertThatThrownBy(score::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(FonctionalException.class);
+        assertThat(tournament.getScorecard(game).getTotal()).isEqualTo(50);
+    }
+
+    @Test
+    public void should_keep_the_totals_of_the_games_consistent_under_load() throws InterruptedException {
+        // given
+        Tournament tournament = service.createTournament("load", 2000);
+        LoadGenerator loadGenerator = new LoadGenerator(service, 8);
+
+        // when
+        LoadReport report = loadGenerator.run(tournament, 2000, 42);
+
+        // then
+        assertThat(report.getNbRequests()).isEqualTo(2000L * YatzyCategory.values().length);
+        assertThat(report.getNbFailures()).isZero();
+        assertThat(report.getRequestsPerSecond()).isPositive();
+        assertThat(report.getLatencyPercentile(99)).isPositive().isGreaterThanOrEqualTo(report.getLatencyPercentile(50));
+        for (int game = 0; game < tournament.getNbGames(); game++) {
+            assertThat(tournament.getScorecard(game).isComplete()).isTrue();
+        }
+    }
+
+    @Test
+    public void should_add_each_completed_game_to_the_leaderboard_once() throws InterruptedException {
+        // given
+        Leaderboard leaderboard = new Leaderboard(RuleSet.YATZY, 10, 60_000, 10);
+        Tournament tournament = service.createTournament("load", 500, leaderboard);
+
+        // when
+        new LoadGenerator(service, 4).run(tournament, 500, 7);
+
+        // then
+        assertThat(Arrays.stream(leaderboard.getDistribution()).sum()).isEqualTo(500);
+        assertThat(leaderboard.top(1).get(0).getTotal())
+                .isEqualTo(IntStream.range(0, 500).map(game -> tournament.getScorecard(game).getTotal()).max().getAsInt());
+    }
+
+    @Test
+    public void should_score_a_category_once_when_submitted_many_times() throws Exception {
+        // given
+        Tournament tournament = service.createTournament("spring cup", 10);
+        int game = tournament.newGame();
+        CompletableFuture<?>[] scores = new CompletableFuture<?>[100];
+
+        // when
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = service.submit(tournament, game, DiceSerie.of(1, 1, 1, 1, 1), YatzyCategory.YATZY);
+        }
+
+        // then
+        CompletableFuture.allOf(scores).handle((ignored, exception) -> null).get();
+        assertThat(Arrays.stream(scores).filter(score -> !score.isCompletedExceptionally())).hasSize(1);
+        assertThat(tournament.getScorecard(game).getTotal()).isEqualTo(50);
+    }
+
+    @Test
+    public void should_keep_scoring_after_wrong_requests() throws Exception {
+        // given
+        try (TournamentService singleWorker = new TournamentService(1, 16, 4)) {
+            Tournament tournament = singleWorker.createTournament("spring cup", 10);
+            int game = tournament.newGame();
+
+            // when
+            CompletableFuture<Integer> unknownGame = singleWorker.submit(tournament, -1, DiceSerie.of(1, 2, 3, 4, 5), YatzyCategory.CHANCE);
+            ThrowableAssert.ThrowingCallable withoutCategory = () -> singleWorker.submit(tournament, game, DiceSerie.of(1, 2, 3, 4, 5), null);
+            CompletableFuture<Integer> chance = singleWorker.submit(tournament, game, DiceSerie.of(1, 2, 3, 4, 5), YatzyCategory.CHANCE);
+
+            // then
+            assertThatThrownBy(withoutCategory).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(unknownGame::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThat(chance.get(10, TimeUnit.SECONDS)).isEqualTo(15);
+            assertThat(singleWorker.getNbPendingScores()).isZero();
+        }
+    }
+
+    @Test
+    public void should_score_every_request_accepted_before_closing() throws Exception {
+        // given
+        TournamentService closedService = new TournamentService(2, 4, 2);
+        Tournament tournament = closedService.createTournament("closing", 1000);
+        DiceSerie yatzy = DiceSerie.of(6, 6, 6, 6, 6);
+        List<CompletableFuture<Integer>> scores = new CopyOnWriteArrayList<>();
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        for (int submitter = 0; submitter < 4; submitter++) {
+            submitters.execute(() -> {
+                try {
+                    while (true) {
+                        scores.add(closedService.submit(tournament, tournament.newGame(), yatzy, YatzyCategory.YATZY));
+                    }
+                } catch (IllegalStateException | InterruptedException closed) {
+                    // closed, or the tournament is full
+                }
+            });
+        }
+
+        // when
+        Thread.sleep(20);
+        closedService.close();
+        submitters.shutdown();
+
+        // then
+        assertThat(submitters.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(scores).isNotEmpty().allSatisfy(score -> assertThat(score).isCompletedWithValue(50));
+    }
+
+    @Test
+    public void should_score_the_queued_requests_when_closed_by_an_interrupted_thread() throws Exception {
+        // given
+        TournamentService closedService = new TournamentService(1, 16, 4);
+        Tournament tournament = closedService.createTournament("interrupted", 1);
+        CompletableFuture<Integer> score = closedService.submit(tournament, tournament.newGame(), DiceSerie.of(1, 2, 3, 4, 5), YatzyCategory.CHANCE);
+
+        // when
+        Thread.currentThread().interrupt();
+        closedService.close();
+        boolean interrupted = Thread.interrupted();
+
+        // then
+        assertThat(interrupted).isTrue();
+        assertThat(score).isCompletedWithValue(15);
+    }
+
+    @Test
+    public void should_await_the_termination_of_the_workers() throws Exception {
+        // given
+        TournamentService closedService = new TournamentService(2, 16, 4);
+        Tournament tournament = closedService.createTournament("awaited", 1);
+        CompletableFuture<Integer> score = closedService.submit(tournament, tournament.newGame(), DiceSerie.of(6, 6, 6, 6, 6), YatzyCategory.YATZY);
+
+        // when
+        boolean terminated = closedService.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(terminated).isTrue();
+        assertThat(score).isCompletedWithValue(50);
+        assertThatThrownBy(() -> closedService.submit(tournament, 0, DiceSerie.of(6, 6, 6, 6, 6), YatzyCategory.CHANCE))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void should_refuse_two_tournaments_of_a_same_name() {
+        // given
+        service.createTournament("spring cup", 10);
+
+        // when
+        // then
+        assertThatThrownBy(() -> service.createTournament("spring cup", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
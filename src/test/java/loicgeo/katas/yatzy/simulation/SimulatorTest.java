@@ -0,0 +1,41 @@
+package loicgeo.katas.yatzy.simulation;
+
+import loicgeo.katas.yatzy.YatzyCategory;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SimulatorTest {
+
+    private final Simulator simulator = new Simulator(new GreedyStrategy());
+
+    @Test
+    public void should_play_all_the_games_and_all_their_categories() {
+        // given
+        // when
+        SimulationResult result = simulator.run(10_000, 42);
+
+        // then
+        assertThat(result.getNbGames()).isEqualTo(10_000);
+        assertThat(Arrays.stream(result.getFinalScoreHistogram()).sum()).isEqualTo(10_000);
+        for (YatzyCategory category : YatzyCategory.values()) {
+            assertThat(Arrays.stream(result.getCategoryScoreHistogram(category)).sum()).isEqualTo(10_000);
+        }
+        assertThat(result.getMeanFinalScore()).isBetween(100.0, 300.0);
+        assertThat(result.getGamesPerSecond()).isPositive();
+    }
+
+    @Test
+    public void should_get_the_same_results_for_the_same_seed() {
+        // given
+        // when
+        SimulationResult result = simulator.run(10_000, 7);
+        SimulationResult sameSeedResult = simulator.run(10_000, 7);
+
+        // then
+        assertThat(sameSeedResult.getFinalScoreHistogram()).containsExactly(result.getFinalScoreHistogram());
+    }
+
+}